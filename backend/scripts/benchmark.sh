@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+#
+# Load tests for the MindMesh backend. Run them once against an instance started with
+# mindmesh.threads.virtual=false and once with mindmesh.threads.virtual=true to compare
+# platform and virtual thread execution.
+#
+# http:  compares the blocking and reactive read paths. Requires an instance started with
+#        mindmesh.reactive.enabled=true, a populated Neo4j database and the 'hey' load
+#        generator (https://github.com/rakyll/hey).
+# stomp: exercises the STOMP inbound and outbound channels with presence pub/sub traffic
+#        (see src/test/java/com/mindmesh/benchmark/StompLoadBenchmark.java). Presence is not
+#        persisted, so no Neo4j data is needed. Requires Maven to build the load client.
+#
+# Usage: scripts/benchmark.sh [http] [base-url] [node-id] [requests] [concurrency]
+#        scripts/benchmark.sh stomp [ws-url] [clients] [messages-per-client]
+#
+# Author: Yuri Pedrosa
+
+set -euo pipefail
+
+SCENARIO="http"
+if [[ "${1:-}" == "http" || "${1:-}" == "stomp" ]]; then
+    SCENARIO="$1"
+    shift
+fi
+
+run_http() {
+    local base_url="${1:-http://localhost:8080}"
+    local node_id="${2:-1}"
+    local requests="${3:-20000}"
+    local concurrency="${4:-500}"
+
+    run() {
+        local label="$1" url="$2"
+        echo "=== ${label}: ${url}"
+        hey -n "${requests}" -c "${concurrency}" "${url}" \
+            | grep -E "Requests/sec|Average|Slowest|99%|\[[0-9]{3}\]"
+        echo
+    }
+
+    run "blocking  node by id" "${base_url}/api/nodes/${node_id}"
+    run "reactive  node by id" "${base_url}/api/reactive/nodes/${node_id}"
+    run "blocking  type page " "${base_url}/api/nodes?type=TASK&size=50"
+    run "reactive  type page " "${base_url}/api/reactive/nodes?type=TASK&size=50"
+}
+
+run_stomp() {
+    local ws_url="${1:-ws://localhost:8080/ws/websocket}"
+    local clients="${2:-200}"
+    local messages="${3:-500}"
+    local backend_dir classpath_file
+    backend_dir="$(cd "$(dirname "$0")/.." && pwd)"
+    classpath_file="${backend_dir}/target/benchmark-classpath.txt"
+
+    mvn -q -f "${backend_dir}/pom.xml" test-compile dependency:build-classpath \
+        -Dmdep.outputFile="${classpath_file}" -Dmdep.includeScope=test
+    echo "=== STOMP presence pub/sub: ${ws_url}"
+    java -cp "${backend_dir}/target/test-classes:${backend_dir}/target/classes:$(cat "${classpath_file}")" \
+        com.mindmesh.benchmark.StompLoadBenchmark "${ws_url}" "${clients}" "${messages}" \
+        | grep -E "^(clients|send phase|end to end|broadcast frames|last update delay)"
+}
+
+"run_${SCENARIO}" "$@"
@@ -3,6 +3,7 @@ package com.mindmesh;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.neo4j.config.EnableNeo4jAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for MindMesh, a collaborative real-time mind mapping application.
@@ -18,6 +19,7 @@ import org.springframework.data.neo4j.config.EnableNeo4jAuditing;
  */
 @SpringBootApplication
 @EnableNeo4jAuditing
+@EnableScheduling
 public class MindMeshApp {
 
     /**
@@ -0,0 +1,121 @@
+package com.mindmesh.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inbound channel interceptor negotiating the compact encoding of broadcasts.
+ * A client opts in by sending the {@value #ENCODING_HEADER}{@code : compact} header on SUBSCRIBE;
+ * its subscription is then moved to the compact variant of the destination
+ * ({@code /topic/nodes} becomes {@code /topic/nodes.compact}). The subscription ID is kept, so
+ * the client receives the frames on the subscription it created.
+ * Only the graph change destinations in {@link #COMPACT_DESTINATIONS} have a compact variant;
+ * the header is ignored on any other subscription, such as {@code /topic/presence}.
+ * The interceptor also tracks compact subscriptions so publishers only encode the compact
+ * variant when someone listens to it.
+ *
+ * @author Yuri Pedrosa
+ */
+@Component
+public class CompactEncodingInterceptor implements ChannelInterceptor {
+
+    /**
+     * STOMP SUBSCRIBE header selecting the encoding of broadcasts.
+     */
+    public static final String ENCODING_HEADER = "x-mindmesh-encoding";
+
+    /**
+     * Suffix of the destinations carrying the compact encoding.
+     */
+    public static final String COMPACT_SUFFIX = ".compact";
+
+    /**
+     * Destinations published with a compact variant.
+     */
+    public static final Set<String> COMPACT_DESTINATIONS = Set.of("/topic/nodes", "/topic/graph");
+
+    private static final String COMPACT = "compact";
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactEncodingInterceptor.class);
+
+    /**
+     * Compact subscriptions per session: subscription ID to the original destination.
+     */
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Number of compact subscriptions per original destination.
+     */
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())
+                && COMPACT.equalsIgnoreCase(accessor.getFirstNativeHeader(ENCODING_HEADER))
+                && COMPACT_DESTINATIONS.contains(accessor.getDestination())) {
+            String destination = accessor.getDestination();
+            accessor.setDestination(destination + COMPACT_SUFFIX);
+            subscriptions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                    .put(accessor.getSubscriptionId(), destination);
+            subscriberCounts.merge(destination, 1, Integer::sum);
+            logger.debug("Session {} subscribed to {} with compact encoding", accessor.getSessionId(), destination);
+            return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+        }
+        if (StompCommand.UNSUBSCRIBE.equals(accessor.getCommand())) {
+            Map<String, String> sessionSubscriptions = subscriptions.get(accessor.getSessionId());
+            if (sessionSubscriptions != null) {
+                String destination = sessionSubscriptions.remove(accessor.getSubscriptionId());
+                if (destination != null) {
+                    decrement(destination);
+                }
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Returns whether any client receives the compact variant of a destination.
+     *
+     * @param destination the original destination, e.g. {@code /topic/nodes}
+     * @return true if at least one compact subscription exists
+     */
+    public boolean hasCompactSubscribers(String destination) {
+        return subscriberCounts.getOrDefault(destination, 0) > 0;
+    }
+
+    /**
+     * Drops the compact subscriptions of a session when the broker reports its disconnection.
+     *
+     * @param event the disconnect event published by the message broker
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> sessionSubscriptions = subscriptions.remove(event.getSessionId());
+        if (sessionSubscriptions != null) {
+            sessionSubscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * Decrements the compact subscription count of a destination.
+     *
+     * @param destination the original destination
+     */
+    private void decrement(String destination) {
+        subscriberCounts.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
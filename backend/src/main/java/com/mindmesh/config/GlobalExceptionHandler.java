@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -39,6 +40,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /**
+     * Handles request parameters that cannot be converted to the expected type,
+     * such as an unknown node type.
+     *
+     * @param ex the type mismatch exception
+     * @return HTTP 400 with error message
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        logger.warn("Invalid value for parameter {}: {}", ex.getName(), ex.getValue());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid value for parameter '" + ex.getName() + "': " + ex.getValue());
+        return ResponseEntity.badRequest().body(error);
+    }
+
     /**
      * Handles illegal argument exceptions, typically from invalid input data.
      *
@@ -0,0 +1,43 @@
+package com.mindmesh.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+/**
+ * Configuration class for the Neo4j schema used by MindMesh.
+ * Creates the indexes required by the repository queries when the application starts.
+ *
+ * @author Yuri Pedrosa
+ */
+@Configuration
+public class Neo4jSchemaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jSchemaConfig.class);
+
+    /**
+     * Creates the index on {@code MindNode.type} used by type counting and the composite index on
+     * {@code (type, creationKey)} used by type-filtered paging. Nodes created before creation keys
+     * existed get their ID as key, which sorts them before every HLC-issued key.
+     * Failures are logged so the application can still start without a reachable database.
+     *
+     * @param neo4jClient the client used to run schema statements
+     * @return runner executed once the application context is ready
+     */
+    @Bean
+    public ApplicationRunner mindNodeIndexes(Neo4jClient neo4jClient) {
+        return args -> {
+            try {
+                neo4jClient.query("CREATE INDEX mindnode_type IF NOT EXISTS FOR (n:MindNode) ON (n.type)").run();
+                neo4jClient.query("CREATE INDEX mindnode_type_creation IF NOT EXISTS FOR (n:MindNode) ON (n.type, n.creationKey)").run();
+                neo4jClient.query("MATCH (n:MindNode) WHERE n.creationKey IS NULL SET n.creationKey = id(n)").run();
+                logger.info("Neo4j schema indexes verified");
+            } catch (Exception e) {
+                logger.warn("Could not create Neo4j indexes: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.mindmesh.config;
+
+import org.neo4j.driver.Driver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveDatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.data.neo4j.core.transaction.ReactiveNeo4jTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.TransactionManagementConfigurer;
+
+/**
+ * Configuration class for the reactive Neo4j data path.
+ * Registers the reactive transaction manager required by reactive repositories next to the
+ * imperative one, which stays the default for {@code @Transactional} service methods.
+ * Spring Boot only auto-configures the imperative transaction manager when no other
+ * transaction manager exists, so both are declared here.
+ * Enabled with {@code mindmesh.reactive.enabled=true}.
+ *
+ * @author Yuri Pedrosa
+ */
+@Configuration
+@ConditionalOnProperty(name = "mindmesh.reactive.enabled", havingValue = "true")
+public class ReactiveNeo4jConfig implements TransactionManagementConfigurer {
+
+    private final Driver driver;
+    private final DatabaseSelectionProvider databaseSelectionProvider;
+
+    public ReactiveNeo4jConfig(Driver driver, DatabaseSelectionProvider databaseSelectionProvider) {
+        this.driver = driver;
+        this.databaseSelectionProvider = databaseSelectionProvider;
+    }
+
+    /**
+     * Creates the transaction manager used by the blocking service layer.
+     *
+     * @return the imperative transaction manager
+     */
+    @Bean
+    public Neo4jTransactionManager transactionManager() {
+        return new Neo4jTransactionManager(driver, databaseSelectionProvider);
+    }
+
+    /**
+     * Creates the transaction manager used by reactive repositories.
+     *
+     * @param reactiveDatabaseSelectionProvider provider of the target database for reactive sessions
+     * @return the reactive transaction manager
+     */
+    @Bean
+    public ReactiveNeo4jTransactionManager reactiveTransactionManager(ReactiveDatabaseSelectionProvider reactiveDatabaseSelectionProvider) {
+        return new ReactiveNeo4jTransactionManager(driver, reactiveDatabaseSelectionProvider);
+    }
+
+    /**
+     * Makes the imperative transaction manager the default for annotation-driven transactions.
+     *
+     * @return the imperative transaction manager
+     */
+    @Override
+    public TransactionManager annotationDrivenTransactionManager() {
+        return transactionManager();
+    }
+}
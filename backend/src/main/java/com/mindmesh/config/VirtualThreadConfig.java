@@ -0,0 +1,37 @@
+package com.mindmesh.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class running Tomcat request handling on virtual threads.
+ * Each HTTP request gets its own virtual thread, so requests blocked on Neo4j calls no longer
+ * hold one of the {@code server.tomcat.threads.max} platform threads.
+ * Enabled with {@code mindmesh.threads.virtual=true}; the STOMP channels are configured in {@link WebSocketConfig}.
+ *
+ * @author Yuri Pedrosa
+ */
+@Configuration
+@ConditionalOnProperty(name = "mindmesh.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Replaces the Tomcat worker pool with a virtual-thread-per-task executor.
+     *
+     * @return customizer applied to the Tomcat protocol handler
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        logger.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.mindmesh.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Task executor running every task on a new virtual thread.
+ * Extends {@link ThreadPoolTaskExecutor} only because STOMP channel registrations accept no other
+ * executor type; the inherited pool settings are ignored and no platform threads are used for tasks.
+ *
+ * @author Yuri Pedrosa
+ */
+public class VirtualThreadTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final ExecutorService virtualThreads;
+
+    /**
+     * Creates an executor naming its virtual threads with the given prefix.
+     *
+     * @param threadNamePrefix prefix of the virtual thread names
+     */
+    public VirtualThreadTaskExecutor(String threadNamePrefix) {
+        setThreadNamePrefix(threadNamePrefix);
+        this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        virtualThreads.execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return virtualThreads.submit(task);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return virtualThreads.submit(task);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        virtualThreads.shutdown();
+    }
+}
@@ -1,7 +1,10 @@
 package com.mindmesh.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.TaskExecutorRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -10,6 +13,9 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * Configuration class for WebSocket messaging using STOMP protocol.
  * Enables real-time communication for collaborative mind mapping features.
  * Configures message broker and STOMP endpoints for client-server communication.
+ * The inbound and outbound client channels run either on virtual threads
+ * ({@code mindmesh.threads.virtual=true}) or on platform thread pools sized by the
+ * {@code mindmesh.websocket.inbound.*} and {@code mindmesh.websocket.outbound.*} properties.
  *
  * @author Yuri Pedrosa
  */
@@ -17,6 +23,33 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final CompactEncodingInterceptor compactEncodingInterceptor;
+
+    @Value("${mindmesh.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    @Value("${mindmesh.websocket.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+
+    @Value("${mindmesh.websocket.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+
+    @Value("${mindmesh.websocket.inbound.queue-capacity:0}")
+    private int inboundQueueCapacity;
+
+    @Value("${mindmesh.websocket.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+
+    @Value("${mindmesh.websocket.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+
+    @Value("${mindmesh.websocket.outbound.queue-capacity:0}")
+    private int outboundQueueCapacity;
+
+    public WebSocketConfig(CompactEncodingInterceptor compactEncodingInterceptor) {
+        this.compactEncodingInterceptor = compactEncodingInterceptor;
+    }
+
     /**
      * Configures the message broker for handling WebSocket messages.
      * Sets up simple broker for broadcasting to topics and application destination prefix.
@@ -27,6 +60,58 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
         config.setApplicationDestinationPrefixes("/app");
+        // Messages to each session are sent in publish order even when the outbound channel runs them concurrently
+        config.setPreservePublishOrder(true);
+    }
+
+    /**
+     * Configures the executor of the channel carrying messages from clients to the application
+     * and registers the interceptor negotiating the compact broadcast encoding.
+     *
+     * @param registration the inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(compactEncodingInterceptor);
+        configureExecutor(registration, "ws-inbound-", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity);
+    }
+
+    /**
+     * Configures the executor of the channel sending messages and broadcasts to clients.
+     *
+     * @param registration the outbound channel registration
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, "ws-outbound-", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity);
+    }
+
+    /**
+     * Applies virtual threads or the platform pool settings to a channel.
+     * Pool settings of 0 keep the Spring defaults.
+     *
+     * @param registration the channel registration
+     * @param threadNamePrefix prefix of the thread names
+     * @param corePoolSize core pool size for platform threads
+     * @param maxPoolSize maximum pool size for platform threads
+     * @param queueCapacity queue capacity for platform threads
+     */
+    private void configureExecutor(ChannelRegistration registration, String threadNamePrefix,
+                                   int corePoolSize, int maxPoolSize, int queueCapacity) {
+        if (virtualThreads) {
+            registration.taskExecutor(new VirtualThreadTaskExecutor(threadNamePrefix));
+            return;
+        }
+        TaskExecutorRegistration executor = registration.taskExecutor();
+        if (corePoolSize > 0) {
+            executor.corePoolSize(corePoolSize);
+        }
+        if (maxPoolSize > 0) {
+            executor.maxPoolSize(maxPoolSize);
+        }
+        if (queueCapacity > 0) {
+            executor.queueCapacity(queueCapacity);
+        }
     }
 
     /**
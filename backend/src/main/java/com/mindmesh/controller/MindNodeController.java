@@ -1,18 +1,29 @@
 package com.mindmesh.controller;
 
+import com.mindmesh.dto.ClusterViewDto;
 import com.mindmesh.dto.ConnectNodesRequest;
 import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodePageDto;
+import com.mindmesh.dto.NodeStatsDto;
+import com.mindmesh.model.NodeType;
 import com.mindmesh.service.MindNodeService;
+import com.mindmesh.service.NodeClusterService;
+import com.mindmesh.service.NodeSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -29,14 +40,56 @@ import java.util.Map;
 public class MindNodeController {
 
     private final MindNodeService mindNodeService;
+    private final NodeSnapshotService nodeSnapshotService;
+    private final NodeClusterService nodeClusterService;
 
     @Operation(summary = "Get all mind nodes")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved all nodes")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved all nodes",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = MindNodeDto.class))))
     })
     @GetMapping
-    public ResponseEntity<List<MindNodeDto>> getAllNodes() {
-        return ResponseEntity.ok(mindNodeService.getAllNodes());
+    public ResponseEntity<byte[]> getAllNodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        NodeSnapshotService.Snapshot snapshot = nodeSnapshotService.getSnapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (snapshot.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    @Operation(summary = "Get a page of mind nodes filtered by type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of nodes"),
+            @ApiResponse(responseCode = "400", description = "Invalid type or page size")
+    })
+    @GetMapping(params = "type")
+    public ResponseEntity<NodePageDto> getNodesByType(@RequestParam NodeType type,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "" + MindNodeService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(mindNodeService.getNodesByType(type, after, size));
+    }
+
+    @Operation(summary = "Get node counts per type and connection count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<NodeStatsDto> getStats() {
+        return ResponseEntity.ok(mindNodeService.getStats());
+    }
+
+    @Operation(summary = "Get clustered nodes for a zoomed-out view")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved clusters"),
+            @ApiResponse(responseCode = "400", description = "Invalid bounding box or zoom")
+    })
+    @GetMapping("/clusters")
+    public ResponseEntity<ClusterViewDto> getClusters(@RequestParam String bbox, @RequestParam double zoom) {
+        return ResponseEntity.ok(nodeClusterService.getClusters(bbox, zoom));
     }
 
     @Operation(summary = "Get a mind node by ID")
@@ -107,4 +160,52 @@ public class MindNodeController {
         return mindNodeService.connectNodes(request) ? ResponseEntity.ok().build()
                 : ResponseEntity.badRequest().build();
     }
+
+    /**
+     * Checks whether an {@code Accept-Encoding} header allows a gzip response. An explicit
+     * {@code gzip} or {@code x-gzip} entry decides on its own; otherwise a {@code *} entry applies.
+     * Entries with a quality value of 0, such as {@code gzip;q=0}, refuse the encoding.
+     *
+     * @param acceptEncoding the header value, may be null
+     * @return true if the client accepts gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Extracts the quality value of an {@code Accept-Encoding} entry.
+     *
+     * @param parts the entry split at semicolons, starting with the coding
+     * @return the quality value, 1 if absent and 0 if malformed
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.substring(1).trim().startsWith("=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(parameter.indexOf('=') + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
@@ -0,0 +1,68 @@
+package com.mindmesh.controller;
+
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodePageDto;
+import com.mindmesh.model.NodeType;
+import com.mindmesh.service.MindNodeService;
+import com.mindmesh.service.ReactiveMindNodeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller exposing the node read endpoints on the reactive data path.
+ * Handlers return Reactor publishers; the servlet request is processed asynchronously and the
+ * request thread is released while the reactive Neo4j driver waits for the database.
+ * Enabled with {@code mindmesh.reactive.enabled=true}; writes use {@link MindNodeController}.
+ *
+ * @author Yuri Pedrosa
+ */
+@RestController
+@RequestMapping("/api/reactive/nodes")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mindmesh.reactive.enabled", havingValue = "true")
+@Tag(name = "Mind Node Reactive Reads", description = "Non-blocking read APIs for mind map nodes")
+public class ReactiveMindNodeController {
+
+    private final ReactiveMindNodeService reactiveMindNodeService;
+
+    @Operation(summary = "Get all mind nodes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved all nodes")
+    })
+    @GetMapping
+    public Flux<MindNodeDto> getAllNodes() {
+        return reactiveMindNodeService.getAllNodes();
+    }
+
+    @Operation(summary = "Get a page of mind nodes filtered by type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved page of nodes"),
+            @ApiResponse(responseCode = "400", description = "Invalid type or page size")
+    })
+    @GetMapping(params = "type")
+    public Mono<NodePageDto> getNodesByType(@RequestParam NodeType type,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "" + MindNodeService.DEFAULT_PAGE_SIZE) int size) {
+        return reactiveMindNodeService.getNodesByType(type, after, size);
+    }
+
+    @Operation(summary = "Get a mind node by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved node"),
+            @ApiResponse(responseCode = "404", description = "Node not found")
+    })
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<MindNodeDto>> getNodeById(@PathVariable String id) {
+        return reactiveMindNodeService.getNodeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -1,12 +1,19 @@
 package com.mindmesh.controller;
 
 import com.mindmesh.dto.ConnectNodesRequest;
+import com.mindmesh.dto.PresenceDto;
+import com.mindmesh.dto.PresenceMessage;
 import com.mindmesh.service.MindNodeService;
+import com.mindmesh.service.PresenceService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+
 /**
  * WebSocket controller for handling real-time mind map operations.
  * Manages WebSocket message mappings for collaborative features like node connections.
@@ -19,6 +26,7 @@ import org.springframework.stereotype.Controller;
 public class WebSocketController {
 
     private final MindNodeService mindNodeService;
+    private final PresenceService presenceService;
 
     /**
      * Handles WebSocket messages for connecting two nodes in the mind map.
@@ -30,4 +38,27 @@ public class WebSocketController {
     public void connectNodes(@Payload ConnectNodesRequest request) {
         mindNodeService.connectNodes(request);
     }
+
+    /**
+     * Handles cursor and selection updates from collaborators.
+     * Updates are kept in memory only and broadcast in batches on {@code /topic/presence}.
+     *
+     * @param message the presence update
+     * @param headerAccessor accessor for the STOMP headers, used to identify the session
+     */
+    @MessageMapping("/presence")
+    public void updatePresence(@Payload PresenceMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        presenceService.updatePresence(headerAccessor.getSessionId(), message);
+    }
+
+    /**
+     * Returns the current presence of all collaborators to a client subscribing to {@code /app/presence},
+     * so it can render existing cursors before the next broadcast.
+     *
+     * @return list of presence states
+     */
+    @SubscribeMapping("/presence")
+    public List<PresenceDto> getPresence() {
+        return presenceService.getAllPresence();
+    }
 }
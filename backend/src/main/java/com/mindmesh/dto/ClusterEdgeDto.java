@@ -0,0 +1,27 @@
+package com.mindmesh.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of connections between the nodes of two clusters.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aggregated connections between two clusters")
+public class ClusterEdgeDto {
+
+    @Schema(description = "ID of the first cluster", example = "3:-2")
+    private String sourceId;
+
+    @Schema(description = "ID of the second cluster", example = "4:-2")
+    private String targetId;
+
+    @Schema(description = "Number of connections between nodes of the two clusters", example = "5")
+    private int count;
+}
@@ -0,0 +1,30 @@
+package com.mindmesh.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Level-of-detail view of the mind map: node clusters and the connections between them
+ * for a bounding box at a given zoom.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Clustered view of the nodes inside a bounding box")
+public class ClusterViewDto {
+
+    @Schema(description = "Side length of a cluster cell in canvas units", example = "512.0")
+    private double cellSize;
+
+    @Schema(description = "Clusters of nodes inside the bounding box")
+    private List<NodeClusterDto> clusters;
+
+    @Schema(description = "Connection counts between the returned clusters")
+    private List<ClusterEdgeDto> edges;
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Transfer Object for MindNode entities.
@@ -57,4 +58,10 @@ public class MindNodeDto {
 
     @Schema(description = "List of IDs of connected nodes")
     private List<Long> connectionIds;
+
+    @Schema(description = "Hybrid logical clock timestamps of the last write to each field "
+            + "(title, description, position, color, type). Sent by clients with the timestamp of their edit, "
+            + "or with the version they edited on top of; writes older than the stored version lose. "
+            + "Returned with the winning versions after merging")
+    private Map<String, Long> versions;
 }
@@ -0,0 +1,34 @@
+package com.mindmesh.dto;
+
+import com.mindmesh.model.NodeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregate of the nodes falling into one grid cell of a level-of-detail view.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cluster of nodes in one grid cell of a zoomed-out view")
+public class NodeClusterDto {
+
+    @Schema(description = "Identifier of the cell, unique within the view", example = "3:-2")
+    private String id;
+
+    @Schema(description = "X-coordinate of the centroid of the clustered nodes", example = "412.5")
+    private double x;
+
+    @Schema(description = "Y-coordinate of the centroid of the clustered nodes", example = "-180.0")
+    private double y;
+
+    @Schema(description = "Number of nodes in the cluster", example = "17")
+    private int count;
+
+    @Schema(description = "Most frequent node type in the cluster")
+    private NodeType dominantType;
+}
@@ -0,0 +1,32 @@
+package com.mindmesh.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paginated list of mind map nodes.
+ * Nodes are returned in creation order. The cursor of the next page identifies the last node
+ * returned as {@code creationKey:id} and should be treated as opaque by clients.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of mind map nodes using keyset pagination")
+public class NodePageDto {
+
+    @Schema(description = "Nodes in this page, in creation order")
+    private List<MindNodeDto> items;
+
+    @Schema(description = "Cursor to pass as 'after' to fetch the next page, null when there are no more nodes",
+            example = "117863392903413760:42")
+    private String nextCursor;
+
+    @Schema(description = "Requested page size", example = "50")
+    private int size;
+}
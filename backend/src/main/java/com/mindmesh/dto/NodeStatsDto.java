@@ -0,0 +1,30 @@
+package com.mindmesh.dto;
+
+import com.mindmesh.model.NodeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO with aggregate counts of the mind map graph.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aggregate node and connection counts of the mind map")
+public class NodeStatsDto {
+
+    @Schema(description = "Number of nodes for each node type")
+    private Map<NodeType, Long> countsByType;
+
+    @Schema(description = "Total number of nodes", example = "120")
+    private long totalNodes;
+
+    @Schema(description = "Total number of connections between nodes", example = "95")
+    private long totalConnections;
+}
@@ -0,0 +1,35 @@
+package com.mindmesh.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact frame broadcast to clients using the compact encoding when only the position of a node changed.
+ * Serialized as a JSON array {@code [id, x, y, positionVersion]} instead of a full {@link MindNodeDto}.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"id", "x", "y", "positionVersion"})
+@Schema(description = "Position change of a node, serialized as [id, x, y, positionVersion]")
+public class PositionDeltaDto {
+
+    @Schema(description = "ID of the moved node", example = "1")
+    private Long id;
+
+    @Schema(description = "New X-coordinate", example = "100.0")
+    private Double x;
+
+    @Schema(description = "New Y-coordinate", example = "200.0")
+    private Double y;
+
+    @Schema(description = "Hybrid logical clock timestamp of the position write")
+    private Long positionVersion;
+}
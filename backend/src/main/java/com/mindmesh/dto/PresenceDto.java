@@ -0,0 +1,41 @@
+package com.mindmesh.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Presence state of a collaborator broadcast on {@code /topic/presence}.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor and selection state of a connected collaborator")
+public class PresenceDto {
+
+    @Schema(description = "WebSocket session ID identifying the collaborator")
+    private String sessionId;
+
+    @Schema(description = "Display name of the user", example = "Yuri")
+    private String userName;
+
+    @Schema(description = "Hex color used to render the user's cursor", example = "#3B82F6")
+    private String color;
+
+    @Schema(description = "X-coordinate of the cursor on the canvas", example = "150.0")
+    private Double x;
+
+    @Schema(description = "Y-coordinate of the cursor on the canvas", example = "320.0")
+    private Double y;
+
+    @Schema(description = "IDs of the nodes currently selected by the user")
+    private List<Long> selectedNodeIds;
+
+    @Schema(description = "Epoch milliseconds of the last update received from the user")
+    private long updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.mindmesh.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Message sent by a client to publish its cursor position and selection.
+ * Presence data is ephemeral and never persisted.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor and selection update sent by a collaborator")
+public class PresenceMessage {
+
+    @Schema(description = "Display name of the user", example = "Yuri")
+    private String userName;
+
+    @Schema(description = "Hex color used to render the user's cursor", example = "#3B82F6")
+    private String color;
+
+    @Schema(description = "X-coordinate of the cursor on the canvas", example = "150.0")
+    private Double x;
+
+    @Schema(description = "Y-coordinate of the cursor on the canvas", example = "320.0")
+    private Double y;
+
+    @Schema(description = "IDs of the nodes currently selected by the user")
+    private List<Long> selectedNodeIds;
+}
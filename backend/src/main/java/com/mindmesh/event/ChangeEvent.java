@@ -0,0 +1,48 @@
+package com.mindmesh.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change broadcast by a backend instance, relayed to its peers through an {@link EventTransport}.
+ * The origin ID and sequence number let receivers drop duplicates and deliver events
+ * from each origin in the order they were published.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    /**
+     * Unique ID of the instance that published the event, regenerated on every start.
+     */
+    private String originId;
+
+    /**
+     * Sequence number of the event within its origin, starting at 1.
+     */
+    private long sequence;
+
+    /**
+     * STOMP destination the payload is sent to, e.g. {@code /topic/nodes}.
+     */
+    private String destination;
+
+    /**
+     * Message payload, serialized to JSON when delivered to clients.
+     */
+    private Object payload;
+
+    /**
+     * Smaller payload sent to clients subscribed with the compact encoding, or null to send {@link #payload}.
+     */
+    private Object compactPayload;
+
+    /**
+     * Change in the aggregate counts of the graph, or null if the event cannot affect them.
+     */
+    private GraphDelta delta;
+}
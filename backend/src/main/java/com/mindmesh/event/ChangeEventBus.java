@@ -0,0 +1,267 @@
+package com.mindmesh.event;
+
+import com.mindmesh.config.CompactEncodingInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes change events to the WebSocket clients of every backend instance.
+ * An event is sent to the sessions connected to this instance and relayed to peers through the
+ * configured {@link EventTransport}; each peer then fans it out to its own sessions.
+ * Events published inside a transaction are relayed only after it commits, so peers never react
+ * to changes they cannot read yet, and rolled-back changes are never relayed. Sequence numbers
+ * are assigned when an event is relayed, so rollbacks leave no gaps in an origin's sequence.
+ *
+ * Received events are de-duplicated and delivered in origin order: for every origin the bus keeps
+ * the last delivered sequence number and buffers events that arrive ahead of a gap. If the gap is
+ * not filled within the configured gap timeout, or the buffer of an origin grows beyond
+ * {@link #MAX_PENDING_PER_ORIGIN}, the missing events are considered lost and buffered events are
+ * delivered from the lowest sequence onwards. Expired gaps are also checked periodically, so an
+ * origin that goes quiet right after a lost event does not hold back its buffered events.
+ *
+ * Every published or delivered event is also announced locally as a {@link GraphChangedEvent},
+ * together with the {@link GraphDelta} of the mutation, if any.
+ * Clients subscribed with the compact encoding receive the event's compact payload on the
+ * {@code .compact} variant of its destination.
+ *
+ * @author Yuri Pedrosa
+ */
+@Component
+@Slf4j
+public class ChangeEventBus {
+
+    private static final int MAX_PENDING_PER_ORIGIN = 1024;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final EventTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CompactEncodingInterceptor compactEncoding;
+    private final String originId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, OriginState> origins = new ConcurrentHashMap<>();
+    private final long gapTimeoutMs;
+
+    /**
+     * Creates the bus using the configured transport, or a single-instance transport if none is defined.
+     *
+     * @param messagingTemplate template used to send messages to local sessions
+     * @param transportProvider provider of the transport relaying events between instances
+     * @param eventPublisher publisher used to announce graph changes inside this instance
+     * @param compactEncoding registry of the clients subscribed with the compact encoding
+     * @param gapTimeoutMs how long to wait for a missing event before skipping it, in milliseconds
+     */
+    public ChangeEventBus(SimpMessagingTemplate messagingTemplate, ObjectProvider<EventTransport> transportProvider,
+                          ApplicationEventPublisher eventPublisher, CompactEncodingInterceptor compactEncoding,
+                          @Value("${mindmesh.events.gap-timeout-ms:2000}") long gapTimeoutMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.eventPublisher = eventPublisher;
+        this.compactEncoding = compactEncoding;
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.transport = transportProvider.getIfAvailable(LocalEventTransport::new);
+        this.transport.subscribe(this::receive);
+        log.info("Change event bus started with origin {} using {}", originId, transport.getClass().getSimpleName());
+    }
+
+    /**
+     * Sends a payload to the local sessions subscribed to a destination and relays it to peers.
+     *
+     * @param destination the STOMP destination, e.g. {@code /topic/nodes}
+     * @param payload the message payload
+     */
+    public void publish(String destination, Object payload) {
+        publish(destination, payload, null);
+    }
+
+    /**
+     * Sends a payload to the local sessions subscribed to a destination and relays it to peers,
+     * using a smaller payload for clients subscribed with the compact encoding.
+     *
+     * @param destination the STOMP destination, e.g. {@code /topic/nodes}
+     * @param payload the message payload
+     * @param compactPayload the payload for compact subscribers, or null to send {@code payload}
+     */
+    public void publish(String destination, Object payload, Object compactPayload) {
+        publish(destination, payload, compactPayload, null);
+    }
+
+    /**
+     * Sends a payload to the local sessions subscribed to a destination and relays it to peers
+     * together with the change the mutation made to the aggregate counts of the graph.
+     *
+     * @param destination the STOMP destination, e.g. {@code /topic/nodes}
+     * @param payload the message payload
+     * @param compactPayload the payload for compact subscribers, or null to send {@code payload}
+     * @param delta the change in the counts, or null if the mutation cannot affect them
+     */
+    public void publish(String destination, Object payload, Object compactPayload, GraphDelta delta) {
+        eventPublisher.publishEvent(new GraphChangedEvent(false, destination, payload, delta));
+        deliver(destination, payload, compactPayload);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay(destination, payload, compactPayload, delta);
+                }
+            });
+        } else {
+            relay(destination, payload, compactPayload, delta);
+        }
+    }
+
+    /**
+     * Returns the ID identifying this instance as the origin of its events.
+     *
+     * @return the origin ID
+     */
+    public String getOriginId() {
+        return originId;
+    }
+
+    /**
+     * Numbers an event and relays it to peers through the transport.
+     *
+     * @param destination the STOMP destination
+     * @param payload the message payload
+     * @param compactPayload the payload for compact subscribers, may be null
+     * @param delta the change in the counts, may be null
+     */
+    private void relay(String destination, Object payload, Object compactPayload, GraphDelta delta) {
+        ChangeEvent event = new ChangeEvent(originId, sequence.incrementAndGet(), destination, payload, compactPayload, delta);
+        try {
+            transport.publish(event);
+        } catch (Exception e) {
+            log.error("Failed to relay event {} to peers: {}", event.getSequence(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Handles an event received from the transport, delivering it and any buffered successors
+     * to local sessions in sequence order.
+     *
+     * @param event the received event
+     */
+    private void receive(ChangeEvent event) {
+        if (originId.equals(event.getOriginId())) {
+            return;
+        }
+        OriginState state = origins.computeIfAbsent(event.getOriginId(), id -> new OriginState());
+        synchronized (state) {
+            if (event.getSequence() <= state.lastDelivered || state.pending.containsKey(event.getSequence())) {
+                log.debug("Duplicate event {} from {} dropped", event.getSequence(), event.getOriginId());
+                return;
+            }
+            if (!state.started) {
+                // First event seen from this origin: start from it instead of waiting for earlier ones
+                state.started = true;
+                state.lastDelivered = event.getSequence() - 1;
+            }
+            state.pending.put(event.getSequence(), event);
+            if (state.pending.size() > MAX_PENDING_PER_ORIGIN) {
+                skipGap(event.getOriginId(), state, "buffer full");
+            }
+            drain(event.getOriginId(), state, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Skips the gaps that have been open for longer than the gap timeout, delivering the events
+     * buffered behind them.
+     */
+    @Scheduled(fixedDelay = 250)
+    public void expireGaps() {
+        expireGaps(System.currentTimeMillis());
+    }
+
+    /**
+     * Skips the gaps opened before {@code now - gapTimeoutMs}.
+     *
+     * @param now the current time in milliseconds
+     */
+    void expireGaps(long now) {
+        origins.forEach((origin, state) -> {
+            synchronized (state) {
+                if (!state.pending.isEmpty() && now - state.gapSince >= gapTimeoutMs) {
+                    skipGap(origin, state, "timed out");
+                    drain(origin, state, now);
+                }
+            }
+        });
+    }
+
+    /**
+     * Delivers the buffered events of an origin that follow the last delivered one, and records
+     * when a gap opened if events remain buffered. Must be called while holding the state's lock.
+     *
+     * @param origin the origin ID
+     * @param state the delivery state of the origin
+     * @param now the current time in milliseconds
+     */
+    private void drain(String origin, OriginState state, long now) {
+        boolean gapOpen = !state.pending.isEmpty() && state.pending.firstKey() != state.lastDelivered + 1;
+        while (!state.pending.isEmpty() && state.pending.firstKey() == state.lastDelivered + 1) {
+            ChangeEvent next = state.pending.pollFirstEntry().getValue();
+            state.lastDelivered = next.getSequence();
+            eventPublisher.publishEvent(new GraphChangedEvent(true, next.getDestination(), next.getPayload(), next.getDelta()));
+            deliver(next.getDestination(), next.getPayload(), next.getCompactPayload());
+        }
+        if (state.pending.isEmpty()) {
+            state.gapSince = 0;
+        } else if (!gapOpen || state.gapSince == 0) {
+            // A new gap opened, either now or right after the delivered events
+            state.gapSince = now;
+            log.debug("Waiting for event {} from {}", state.lastDelivered + 1, origin);
+        }
+    }
+
+    /**
+     * Gives up on the events missing before the first buffered one. Must be called while holding
+     * the state's lock.
+     *
+     * @param origin the origin ID
+     * @param state the delivery state of the origin
+     * @param reason why the gap is skipped, for the log
+     */
+    private void skipGap(String origin, OriginState state, String reason) {
+        long skipTo = state.pending.firstKey() - 1;
+        log.warn("Events {}..{} from {} lost ({}), skipping", state.lastDelivered + 1, skipTo, origin, reason);
+        state.lastDelivered = skipTo;
+    }
+
+    /**
+     * Sends a payload to the sessions connected to this instance, in both encodings when needed.
+     *
+     * @param destination the STOMP destination
+     * @param payload the message payload
+     * @param compactPayload the payload for compact subscribers, or null to send {@code payload}
+     */
+    private void deliver(String destination, Object payload, Object compactPayload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        if (compactEncoding.hasCompactSubscribers(destination)) {
+            Object compact = compactPayload != null ? compactPayload : payload;
+            messagingTemplate.convertAndSend(destination + CompactEncodingInterceptor.COMPACT_SUFFIX, compact);
+        }
+    }
+
+    /**
+     * Delivery state of the events received from one origin.
+     */
+    private static final class OriginState {
+        private boolean started;
+        private long lastDelivered;
+        private long gapSince;
+        private final TreeMap<Long, ChangeEvent> pending = new TreeMap<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.mindmesh.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport relaying change events between backend instances.
+ * Implementations may deliver events more than once or out of order;
+ * {@link ChangeEventBus} de-duplicates and reorders them by origin sequence number.
+ * Registering a bean of this type replaces the default single-instance transport.
+ *
+ * @author Yuri Pedrosa
+ */
+public interface EventTransport {
+
+    /**
+     * Sends an event to the peer instances.
+     *
+     * @param event the event to relay
+     */
+    void publish(ChangeEvent event);
+
+    /**
+     * Registers the handler receiving events published by peers.
+     * Events published by this instance may also be delivered to the handler.
+     *
+     * @param handler the handler to call for each received event
+     */
+    void subscribe(Consumer<ChangeEvent> handler);
+}
@@ -0,0 +1,46 @@
+package com.mindmesh.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Application event published by {@link ChangeEventBus} whenever the graph changes,
+ * either on this instance or on a peer. Listeners use it to invalidate or update derived state.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@AllArgsConstructor
+public class GraphChangedEvent {
+
+    /**
+     * Whether the change was published by a peer instance rather than this one.
+     */
+    private boolean remote;
+
+    /**
+     * STOMP destination the change was broadcast to, e.g. {@code /topic/nodes}.
+     */
+    private String destination;
+
+    /**
+     * Broadcast payload describing the change.
+     */
+    private Object payload;
+
+    /**
+     * Change in the aggregate counts of the graph, or null if the change cannot affect them.
+     */
+    private GraphDelta delta;
+
+    /**
+     * Creates an event for a change that does not affect the aggregate counts of the graph.
+     *
+     * @param remote whether the change was published by a peer instance
+     * @param destination the STOMP destination the change was broadcast to
+     * @param payload the broadcast payload
+     */
+    public GraphChangedEvent(boolean remote, String destination, Object payload) {
+        this(remote, destination, payload, null);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mindmesh.event;
+
+import com.mindmesh.model.NodeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Change in the aggregate counts of the graph caused by one mutation, relayed with its
+ * {@link ChangeEvent} so that peer instances can update their statistics incrementally.
+ * A created connection also names its endpoints, so derived indexes can add the single edge
+ * instead of reloading the graph broadcast with it.
+ * Events that cannot change the counts, such as moves and renames, carry no delta.
+ *
+ * @author Yuri Pedrosa
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphDelta {
+
+    /**
+     * Change in the number of nodes of each type; types whose count is unchanged are omitted.
+     */
+    private Map<NodeType, Long> nodeCounts = new EnumMap<>(NodeType.class);
+
+    /**
+     * Change in the number of connections.
+     */
+    private long connections;
+
+    /**
+     * ID of the source node of a created connection, or null.
+     */
+    private Long sourceId;
+
+    /**
+     * ID of the target node of a created connection, or null.
+     */
+    private Long targetId;
+
+    /**
+     * Delta of a created node.
+     *
+     * @param type the type of the node
+     * @return the delta
+     */
+    public static GraphDelta nodeCreated(NodeType type) {
+        GraphDelta delta = new GraphDelta();
+        delta.addNodes(type, 1);
+        return delta;
+    }
+
+    /**
+     * Delta of a deleted node and the connections removed with it.
+     *
+     * @param type the type of the node
+     * @param connections number of connections the node had
+     * @return the delta
+     */
+    public static GraphDelta nodeDeleted(NodeType type, long connections) {
+        GraphDelta delta = new GraphDelta();
+        delta.addNodes(type, -1);
+        delta.connections = -connections;
+        return delta;
+    }
+
+    /**
+     * Delta of a node whose type changed.
+     *
+     * @param previous the type before the change
+     * @param current the type after the change
+     * @return the delta, or null if the type did not change
+     */
+    public static GraphDelta nodeTypeChanged(NodeType previous, NodeType current) {
+        if (previous == current) {
+            return null;
+        }
+        GraphDelta delta = new GraphDelta();
+        delta.addNodes(previous, -1);
+        delta.addNodes(current, 1);
+        return delta;
+    }
+
+    /**
+     * Delta of a created connection.
+     *
+     * @param sourceId the ID of the source node
+     * @param targetId the ID of the target node
+     * @return the delta
+     */
+    public static GraphDelta connectionCreated(Long sourceId, Long targetId) {
+        GraphDelta delta = new GraphDelta();
+        delta.connections = 1;
+        delta.sourceId = sourceId;
+        delta.targetId = targetId;
+        return delta;
+    }
+
+    private void addNodes(NodeType type, long count) {
+        if (type != null) {
+            nodeCounts.merge(type, count, Long::sum);
+        }
+    }
+}
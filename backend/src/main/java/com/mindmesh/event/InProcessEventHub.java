@@ -0,0 +1,91 @@
+package com.mindmesh.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * In-memory hub connecting several backend instances running in the same JVM,
+ * for example multiple application contexts started by an integration test.
+ * Each instance gets its own transport from {@link #createTransport()}, and every event
+ * published through one transport is delivered to all transports of the hub.
+ *
+ * Like a network transport, the hub delivers events asynchronously: each subscribed handler
+ * receives events in publication order on its own thread. Delivering on the publisher's thread
+ * would run the peer's listeners inside the publisher's after-commit callback, where transactional
+ * event listeners register synchronizations that never run.
+ *
+ * @author Yuri Pedrosa
+ */
+public class InProcessEventHub {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a transport attached to this hub.
+     *
+     * @return a new transport for one instance
+     */
+    public EventTransport createTransport() {
+        return new EventTransport() {
+            @Override
+            public void publish(ChangeEvent event) {
+                subscribers.forEach(subscriber -> subscriber.executor().execute(() -> subscriber.handler().accept(event)));
+            }
+
+            @Override
+            public void subscribe(Consumer<ChangeEvent> handler) {
+                subscribers.add(new Subscriber(handler, Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "event-hub-" + subscribers.size());
+                    thread.setDaemon(true);
+                    return thread;
+                })));
+            }
+        };
+    }
+
+    /**
+     * Waits until every event published so far has been handled by all subscribers.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @throws IllegalStateException if the events are not handled in time or the wait is interrupted
+     */
+    public void awaitDelivery(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (Subscriber subscriber : subscribers) {
+                // Runs after every event already queued for the subscriber
+                Future<?> marker = subscriber.executor().submit(() -> { });
+                marker.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for event delivery", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Events were not delivered in time", e);
+        }
+    }
+
+    /**
+     * Stops the delivery threads. Events not yet handled are discarded.
+     */
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.executor().shutdownNow());
+    }
+
+    /**
+     * A subscribed handler and the thread delivering events to it.
+     *
+     * @param handler the handler of the subscribing instance
+     * @param executor single-thread executor preserving the publication order
+     */
+    private record Subscriber(Consumer<ChangeEvent> handler, ExecutorService executor) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.mindmesh.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport for a single backend instance: there are no peers, so published events are dropped.
+ * Used when no other {@link EventTransport} is configured.
+ *
+ * @author Yuri Pedrosa
+ */
+public class LocalEventTransport implements EventTransport {
+
+    @Override
+    public void publish(ChangeEvent event) {
+        // No peers to relay to
+    }
+
+    @Override
+    public void subscribe(Consumer<ChangeEvent> handler) {
+        // No peers to receive from
+    }
+}
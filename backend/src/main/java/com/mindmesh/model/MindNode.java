@@ -76,6 +76,37 @@ public class MindNode {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    /**
+     * Hybrid logical clock timestamp taken when the node was created. Never changes afterwards,
+     * so together with the node ID it orders keyset pagination stably.
+     */
+    private Long creationKey;
+
+    /**
+     * Hybrid logical clock timestamp of the last write to the title.
+     */
+    private Long titleVersion;
+
+    /**
+     * Hybrid logical clock timestamp of the last write to the description.
+     */
+    private Long descriptionVersion;
+
+    /**
+     * Hybrid logical clock timestamp of the last write to the x/y position.
+     */
+    private Long positionVersion;
+
+    /**
+     * Hybrid logical clock timestamp of the last write to the color.
+     */
+    private Long colorVersion;
+
+    /**
+     * Hybrid logical clock timestamp of the last write to the type.
+     */
+    private Long typeVersion;
+
     /**
      * List of nodes connected to this node via "CONNECTED_TO" relationships.
      * This represents the outgoing connections in the graph.
@@ -24,6 +24,63 @@ public interface MindNodeRepository extends Neo4jRepository<MindNode, Long> {
      */
     List<MindNode> findByType(String type);
 
+    /**
+     * Retrieves one page of nodes of a specific type using keyset pagination.
+     * Pages are ordered by creation key, with the node ID breaking ties between keys issued by
+     * different instances, so the next page starts after the last node of the previous one instead
+     * of skipping an offset. The composite index on {@code (type, creationKey)} turns the filter into
+     * an index range seek in key order, so a page costs O(page size) rather than O(nodes of the type).
+     * Unlike internal IDs, creation keys are never reused, so nodes created after a page was read
+     * always sort after it.
+     *
+     * @param type the node type to filter by
+     * @param afterKey creation key of the last node of the previous page
+     * @param afterId ID of the last node of the previous page
+     * @param limit maximum number of nodes to return
+     * @return nodes of the given type in creation order, including their outgoing connections
+     */
+    @Query("MATCH (n:MindNode) WHERE n.type = $type AND n.creationKey >= $afterKey "
+            + "AND NOT (n.creationKey = $afterKey AND id(n) <= $afterId) "
+            + "WITH n ORDER BY n.creationKey ASC, id(n) ASC LIMIT $limit "
+            + "OPTIONAL MATCH (n)-[r:CONNECTED_TO]->(m:MindNode) "
+            + "RETURN n, collect(r), collect(m) ORDER BY n.creationKey ASC, id(n) ASC")
+    List<MindNode> findPageByType(String type, Long afterKey, Long afterId, Integer limit);
+
+    /**
+     * Counts the nodes of a specific type.
+     *
+     * @param type the node type to count
+     * @return number of nodes with the given type
+     */
+    @Query("MATCH (n:MindNode) WHERE n.type = $type RETURN count(n)")
+    long countByType(String type);
+
+    /**
+     * Counts all CONNECTED_TO relationships in the graph.
+     *
+     * @return total number of connections
+     */
+    @Query("MATCH (:MindNode)-[r:CONNECTED_TO]->(:MindNode) RETURN count(r)")
+    long countConnections();
+
+    /**
+     * Counts the CONNECTED_TO relationships attached to a node in either direction.
+     *
+     * @param nodeId the ID of the node
+     * @return number of connections of the node
+     */
+    @Query("MATCH (n:MindNode)-[r:CONNECTED_TO]-(:MindNode) WHERE id(n) = $nodeId RETURN count(DISTINCT r)")
+    long countConnectionsOf(Long nodeId);
+
+    /**
+     * Retrieves the stored type of a node without loading the entity and its relationships.
+     *
+     * @param nodeId the ID of the node
+     * @return the type name, or null if the node does not exist or has no type
+     */
+    @Query("MATCH (n:MindNode) WHERE id(n) = $nodeId RETURN n.type")
+    String findTypeById(Long nodeId);
+
     /**
      * Finds all nodes directly connected to the specified node.
      * Uses Cypher query to traverse CONNECTED_TO relationships in both directions.
@@ -45,17 +102,55 @@ public interface MindNodeRepository extends Neo4jRepository<MindNode, Long> {
     void connectNodes(Long sourceId, Long targetId);
 
     /**
-     * Updates specific fields of a node using conditional SET clauses.
-     * Only updates fields that are provided (not null).
+     * Merges field updates into a node with per-field last-writer-wins semantics in a single statement.
+     * A field is written only if its version is provided and newer than the stored version;
+     * a null version leaves the field untouched. No lock is held between requests: the first
+     * {@code SET} only takes the node's write lock, which Neo4j would take anyway for the field
+     * writes, before the stored versions are read instead of after. Without it two concurrent
+     * merges could both compare against the same committed versions and the later commit would
+     * overwrite a newer field with an older one.
+     * Null title, x, y and type values keep the stored value; null description and color clear it.
      *
      * @param nodeId the ID of the node to update
-     * @param title new title (null to keep existing)
-     * @param description new description (null to keep existing)
-     * @param x new x-coordinate (null to keep existing)
-     * @param y new y-coordinate (null to keep existing)
-     * @param color new color (null to keep existing)
-     * @param type new type (null to keep existing)
-     */
-    @Query("MATCH (n:MindNode) WHERE id(n) = $nodeId SET n.title = CASE WHEN $title IS NOT NULL THEN $title ELSE n.title END, n.description = CASE WHEN $description IS NOT NULL THEN $description ELSE n.description END, n.x = CASE WHEN $x IS NOT NULL THEN $x ELSE n.x END, n.y = CASE WHEN $y IS NOT NULL THEN $y ELSE n.y END, n.color = CASE WHEN $color IS NOT NULL THEN $color ELSE n.color END, n.type = CASE WHEN $type IS NOT NULL THEN $type ELSE n.type END")
-    void updateNodeFields(Long nodeId, String title, String description, Double x, Double y, String color, String type);
+     * @param title new title
+     * @param titleVersion HLC timestamp of the title write (null to skip)
+     * @param description new description
+     * @param descriptionVersion HLC timestamp of the description write (null to skip)
+     * @param x new x-coordinate
+     * @param y new y-coordinate
+     * @param positionVersion HLC timestamp of the position write (null to skip)
+     * @param color new color
+     * @param colorVersion HLC timestamp of the color write (null to skip)
+     * @param type new type
+     * @param typeVersion HLC timestamp of the type write (null to skip)
+     * @return the type of the node before the merge
+     */
+    @Query("MATCH (n:MindNode) WHERE id(n) = $nodeId SET n._lock = true "
+            + "WITH n, n.type AS previousType, "
+            + "$titleVersion IS NOT NULL AND $titleVersion > coalesce(n.titleVersion, 0) AS titleWins, "
+            + "$descriptionVersion IS NOT NULL AND $descriptionVersion > coalesce(n.descriptionVersion, 0) AS descriptionWins, "
+            + "$positionVersion IS NOT NULL AND $positionVersion > coalesce(n.positionVersion, 0) AS positionWins, "
+            + "$colorVersion IS NOT NULL AND $colorVersion > coalesce(n.colorVersion, 0) AS colorWins, "
+            + "$typeVersion IS NOT NULL AND $typeVersion > coalesce(n.typeVersion, 0) AS typeWins "
+            + "SET n.title = CASE WHEN titleWins THEN coalesce($title, n.title) ELSE n.title END, "
+            + "n.titleVersion = CASE WHEN titleWins THEN $titleVersion ELSE n.titleVersion END, "
+            + "n.description = CASE WHEN descriptionWins THEN $description ELSE n.description END, "
+            + "n.descriptionVersion = CASE WHEN descriptionWins THEN $descriptionVersion ELSE n.descriptionVersion END, "
+            + "n.x = CASE WHEN positionWins THEN coalesce($x, n.x) ELSE n.x END, "
+            + "n.y = CASE WHEN positionWins THEN coalesce($y, n.y) ELSE n.y END, "
+            + "n.positionVersion = CASE WHEN positionWins THEN $positionVersion ELSE n.positionVersion END, "
+            + "n.color = CASE WHEN colorWins THEN $color ELSE n.color END, "
+            + "n.colorVersion = CASE WHEN colorWins THEN $colorVersion ELSE n.colorVersion END, "
+            + "n.type = CASE WHEN typeWins THEN coalesce($type, n.type) ELSE n.type END, "
+            + "n.typeVersion = CASE WHEN typeWins THEN $typeVersion ELSE n.typeVersion END, "
+            + "n.updatedAt = CASE WHEN titleWins OR descriptionWins OR positionWins OR colorWins OR typeWins "
+            + "THEN localdatetime() ELSE n.updatedAt END "
+            + "REMOVE n._lock "
+            + "RETURN previousType")
+    String mergeNodeFields(Long nodeId,
+                           String title, Long titleVersion,
+                           String description, Long descriptionVersion,
+                           Double x, Double y, Long positionVersion,
+                           String color, Long colorVersion,
+                           String type, Long typeVersion);
 }
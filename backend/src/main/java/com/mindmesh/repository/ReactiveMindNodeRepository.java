@@ -0,0 +1,35 @@
+package com.mindmesh.repository;
+
+import com.mindmesh.model.MindNode;
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive repository interface for MindNode entities in Neo4j graph database.
+ * Runs queries on the reactive Neo4j driver, so callers do not block a thread while waiting for Bolt responses.
+ * Used by the read endpoints of the reactive data path.
+ *
+ * @author Yuri Pedrosa
+ */
+@Repository
+public interface ReactiveMindNodeRepository extends ReactiveNeo4jRepository<MindNode, Long> {
+
+    /**
+     * Retrieves one page of nodes of a specific type using keyset pagination.
+     * Same query as {@link MindNodeRepository#findPageByType(String, Long, Long, Integer)}.
+     *
+     * @param type the node type to filter by
+     * @param afterKey creation key of the last node of the previous page
+     * @param afterId ID of the last node of the previous page
+     * @param limit maximum number of nodes to return
+     * @return nodes of the given type in creation order, including their outgoing connections
+     */
+    @Query("MATCH (n:MindNode) WHERE n.type = $type AND n.creationKey >= $afterKey "
+            + "AND NOT (n.creationKey = $afterKey AND id(n) <= $afterId) "
+            + "WITH n ORDER BY n.creationKey ASC, id(n) ASC LIMIT $limit "
+            + "OPTIONAL MATCH (n)-[r:CONNECTED_TO]->(m:MindNode) "
+            + "RETURN n, collect(r), collect(m) ORDER BY n.creationKey ASC, id(n) ASC")
+    Flux<MindNode> findPageByType(String type, Long afterKey, Long afterId, Integer limit);
+}
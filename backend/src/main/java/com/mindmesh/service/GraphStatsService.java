@@ -0,0 +1,242 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.NodeStatsDto;
+import com.mindmesh.event.GraphChangedEvent;
+import com.mindmesh.event.GraphDelta;
+import com.mindmesh.model.NodeType;
+import com.mindmesh.repository.MindNodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service keeping aggregate counts of the mind map graph (nodes per type and connections).
+ * Counts are loaded from Neo4j once and then maintained incrementally from the {@link GraphDelta}
+ * of every mutation, so reading the statistics never scans the graph.
+ * Deltas recorded by {@link MindNodeService} are applied only after the surrounding transaction
+ * commits. Mutations made by peer instances arrive as deltas relayed with their change events and
+ * are applied as soon as they are received; relayed changes without a delta, such as node moves,
+ * cannot change the counts and are ignored.
+ *
+ * Loading races with mutations that commit while the counts are being queried: such a mutation may
+ * or may not be visible to the count queries, so its increment can be neither kept nor dropped
+ * safely. Every mutation is therefore tracked from just before its commit until its completion,
+ * and a load is only accepted if no mutation was committing or completed while it ran;
+ * otherwise the counts are queried again.
+ *
+ * @author Yuri Pedrosa
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GraphStatsService {
+
+    private static final int MAX_LOAD_ATTEMPTS = 5;
+
+    private final MindNodeRepository mindNodeRepository;
+
+    private final Map<NodeType, LongAdder> nodeCounts = new EnumMap<>(NodeType.class);
+    private final LongAdder connectionCount = new LongAdder();
+    private volatile boolean initialized;
+
+    /**
+     * Number of mutations between their before-commit and completion callbacks.
+     */
+    private final AtomicInteger committing = new AtomicInteger();
+
+    /**
+     * Bumped whenever a mutation completes, so a load can detect mutations that overlapped it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Increments hold the read lock while they check {@code initialized}; a load takes the write
+     * lock to publish its counts, so no increment can fall between the check and the publication.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    {
+        for (NodeType type : NodeType.values()) {
+            nodeCounts.put(type, new LongAdder());
+        }
+    }
+
+    /**
+     * Loads the initial counts once the application is ready.
+     * Failures are logged and the load is retried on the first statistics request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureInitialized();
+        } catch (Exception e) {
+            log.warn("Could not load graph statistics at startup, will retry on first request: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the current node and connection counts.
+     *
+     * @return the aggregate statistics of the graph
+     */
+    public NodeStatsDto getStats() {
+        ensureInitialized();
+        Map<NodeType, Long> counts = new EnumMap<>(NodeType.class);
+        long total = 0;
+        for (Map.Entry<NodeType, LongAdder> entry : nodeCounts.entrySet()) {
+            long count = entry.getValue().sum();
+            counts.put(entry.getKey(), count);
+            total += count;
+        }
+        return new NodeStatsDto(counts, total, connectionCount.sum());
+    }
+
+    /**
+     * Applies the delta of a change made by a peer instance. The peer relays its changes only after
+     * they commit, so the delta is applied right away; the mutation is also reported to a load
+     * that may be running, since its count queries may or may not have seen it.
+     *
+     * @param event the graph change event
+     */
+    @EventListener
+    public void onGraphChanged(GraphChangedEvent event) {
+        if (!event.isRemote() || event.getDelta() == null) {
+            return;
+        }
+        apply(() -> applyDelta(event.getDelta()));
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Records the delta of a mutation made by this instance.
+     *
+     * @param delta the change in the counts, ignored if null
+     */
+    public void record(GraphDelta delta) {
+        if (delta != null) {
+            afterCommit(() -> applyDelta(delta));
+        }
+    }
+
+    /**
+     * Loads the counts from the repository if they have not been loaded yet or were invalidated.
+     * A load that overlapped a committing mutation is discarded and repeated, since the count
+     * queries may or may not have seen that mutation.
+     *
+     * @throws IllegalStateException if no stable load could be completed
+     */
+    private void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS && !initialized; attempt++) {
+                log.debug("Loading graph statistics from repository (attempt {})", attempt);
+                long startGeneration = generation.get();
+                long[] typeCounts = new long[NodeType.values().length];
+                for (NodeType type : NodeType.values()) {
+                    typeCounts[type.ordinal()] = mindNodeRepository.countByType(type.name());
+                }
+                long connections = mindNodeRepository.countConnections();
+
+                lock.writeLock().lock();
+                try {
+                    if (committing.get() > 0 || generation.get() != startGeneration) {
+                        log.debug("Graph changed while loading statistics, reloading");
+                        continue;
+                    }
+                    for (NodeType type : NodeType.values()) {
+                        LongAdder counter = nodeCounts.get(type);
+                        counter.reset();
+                        counter.add(typeCounts[type.ordinal()]);
+                    }
+                    connectionCount.reset();
+                    connectionCount.add(connections);
+                    initialized = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Graph statistics loaded: {} connections", connections);
+            }
+            if (!initialized) {
+                throw new IllegalStateException("Graph statistics could not be loaded while the graph is changing");
+            }
+        }
+    }
+
+    /**
+     * Adds a delta to the counters.
+     *
+     * @param delta the change in the counts
+     */
+    private void applyDelta(GraphDelta delta) {
+        if (delta.getNodeCounts() != null) {
+            delta.getNodeCounts().forEach((type, count) -> nodeCounts.get(type).add(count));
+        }
+        connectionCount.add(delta.getConnections());
+    }
+
+    /**
+     * Runs the given update after the current transaction commits, or immediately when no
+     * transaction is active. Updates are skipped until the initial counts have been loaded,
+     * and the mutation is tracked so that a concurrent load can detect it.
+     *
+     * @param update the counter update to apply
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean tracked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    committing.incrementAndGet();
+                    tracked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (tracked) {
+                        generation.incrementAndGet();
+                        committing.decrementAndGet();
+                    }
+                }
+            });
+        } else {
+            apply(update);
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Applies a counter update if the counts have been loaded.
+     *
+     * @param update the counter update
+     */
+    private void apply(Runnable update) {
+        lock.readLock().lock();
+        try {
+            if (initialized) {
+                update.run();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.event.GraphChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hybrid logical clock used to version node fields for last-writer-wins merging.
+ * A timestamp packs the wall-clock time in milliseconds in the upper 48 bits and a logical
+ * counter in the lower 16 bits, so timestamps stay close to real time while remaining strictly
+ * increasing and able to absorb timestamps received from clients.
+ * The clock is lock-free: state is a single {@link AtomicLong} advanced with compare-and-set.
+ *
+ * Besides client timestamps, the clock absorbs the versions already stored on a node before a
+ * write is stamped and the versions carried by node changes relayed from peer instances, so a
+ * server whose wall clock lags behind still issues versions newer than everything it has seen.
+ *
+ * @author Yuri Pedrosa
+ */
+@Component
+public class HybridLogicalClock {
+
+    private static final int LOGICAL_BITS = 16;
+
+    /**
+     * Maximum distance in milliseconds a received timestamp may be ahead of the local wall clock.
+     */
+    private static final long MAX_DRIFT_MS = 60_000;
+
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Generates a new timestamp for a local event.
+     *
+     * @return a timestamp greater than any previously issued or received
+     */
+    public long now() {
+        long physical = physicalNow();
+        return last.updateAndGet(previous -> Math.max(previous + 1, physical));
+    }
+
+    /**
+     * Merges a timestamp received from a client or peer into the clock.
+     *
+     * @param remote the received timestamp
+     * @return a timestamp greater than both the received one and any previously issued
+     * @throws IllegalArgumentException if the timestamp is negative or too far in the future
+     */
+    public long update(long remote) {
+        long physical = physicalNow();
+        if (remote < 0 || remote > physical + (MAX_DRIFT_MS << LOGICAL_BITS)) {
+            throw new IllegalArgumentException("Invalid version timestamp: " + remote);
+        }
+        return last.updateAndGet(previous -> Math.max(Math.max(previous, remote) + 1, physical));
+    }
+
+    /**
+     * Advances the clock past a timestamp that was already accepted elsewhere, such as a version
+     * stored in the database or received from a peer instance. Unlike {@link #update(long)} the
+     * timestamp is trusted and not checked for drift.
+     *
+     * @param timestamp the observed timestamp
+     */
+    public void observe(long timestamp) {
+        last.accumulateAndGet(timestamp, Math::max);
+    }
+
+    /**
+     * Absorbs the field versions of node changes relayed from peer instances. Relayed payloads
+     * are either node DTOs or, depending on the transport, their deserialized map form.
+     *
+     * @param event the graph change event
+     */
+    @EventListener
+    public void onGraphChanged(GraphChangedEvent event) {
+        if (!event.isRemote()) {
+            return;
+        }
+        Object versions = null;
+        if (event.getPayload() instanceof MindNodeDto dto) {
+            versions = dto.getVersions();
+        } else if (event.getPayload() instanceof Map<?, ?> map) {
+            versions = map.get("versions");
+        }
+        if (versions instanceof Map<?, ?> map) {
+            for (Object version : map.values()) {
+                if (version instanceof Number number) {
+                    observe(number.longValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the current wall-clock time shifted into the physical part of a timestamp.
+     *
+     * @return the physical component with a zero logical counter
+     */
+    private static long physicalNow() {
+        return System.currentTimeMillis() << LOGICAL_BITS;
+    }
+}
@@ -2,23 +2,34 @@ package com.mindmesh.service;
 
 import com.mindmesh.dto.ConnectNodesRequest;
 import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodePageDto;
+import com.mindmesh.dto.NodeStatsDto;
+import com.mindmesh.dto.PositionDeltaDto;
+import com.mindmesh.event.ChangeEventBus;
+import com.mindmesh.event.GraphDelta;
 import com.mindmesh.model.MindNode;
+import com.mindmesh.model.NodeType;
 import com.mindmesh.repository.MindNodeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service class for managing mind map nodes and their operations.
  * Handles business logic for CRUD operations, node connections, and real-time broadcasting via WebSocket.
+ * Broadcasts go through {@link ChangeEventBus} so that clients connected to other instances receive them too.
  * All operations are transactional and include logging and WebSocket notifications.
+ * Concurrent edits are merged per field with last-writer-wins on hybrid logical clock versions,
+ * so editors changing different fields of the same node no longer overwrite each other.
  *
  * @author Yuri Pedrosa
  */
@@ -27,8 +38,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MindNodeService {
 
+    /**
+     * Default number of nodes returned per page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Maximum number of nodes a client may request per page.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String POSITION = "position";
+    private static final String COLOR = "color";
+    private static final String TYPE = "type";
+    private static final String VERSIONS = "versions";
+
     private final MindNodeRepository mindNodeRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChangeEventBus changeEventBus;
+    private final GraphStatsService graphStatsService;
+    private final HybridLogicalClock hybridLogicalClock;
 
     /**
      * Parses a string ID to Long, handling invalid formats.
@@ -37,7 +67,7 @@ public class MindNodeService {
      * @return the parsed Long ID
      * @throws IllegalArgumentException if the ID format is invalid
      */
-    private Long parseId(String id) {
+    static Long parseId(String id) {
         try {
             return Long.valueOf(id);
         } catch (NumberFormatException e) {
@@ -64,12 +94,87 @@ public class MindNodeService {
     public List<MindNodeDto> getAllNodes() {
         log.debug("Retrieving all mind nodes");
         List<MindNodeDto> nodes = mindNodeRepository.findAll().stream()
-                .map(this::toDto)
+                .map(MindNodeService::toDto)
                 .collect(Collectors.toList());
         log.debug("Retrieved {} nodes", nodes.size());
         return nodes;
     }
 
+    /**
+     * Retrieves one page of nodes of the given type using keyset pagination.
+     *
+     * @param type the node type to filter by
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param size maximum number of nodes in the page
+     * @return the page of nodes and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor or page size is invalid
+     */
+    public NodePageDto getNodesByType(NodeType type, String after, int size) {
+        validatePageSize(size);
+        long[] cursor = parseCursor(after);
+        log.debug("Retrieving {} nodes of type {} after {}", size, type, after);
+        List<MindNode> nodes = mindNodeRepository.findPageByType(type.name(), cursor[0], cursor[1], size);
+        log.debug("Retrieved {} nodes of type {}", nodes.size(), type);
+        return toPage(nodes, size);
+    }
+
+    /**
+     * Parses a page cursor of the form {@code creationKey:id}.
+     *
+     * @param after the cursor, or null for the first page
+     * @return the creation key and ID of the last node of the previous page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static long[] parseCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return new long[] {Long.MIN_VALUE, Long.MIN_VALUE};
+        }
+        int separator = after.indexOf(':');
+        try {
+            if (separator < 0) {
+                throw new NumberFormatException();
+            }
+            return new long[] {Long.parseLong(after.substring(0, separator)), Long.parseLong(after.substring(separator + 1))};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + after);
+        }
+    }
+
+    /**
+     * Validates the size requested for a page of nodes.
+     *
+     * @param size the requested page size
+     * @throws IllegalArgumentException if the page size is out of range
+     */
+    static void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Builds a keyset page, using the creation key and ID of the last node as cursor when the page is full.
+     *
+     * @param nodes the nodes of the page, in creation order
+     * @param size the requested page size
+     * @return the page
+     */
+    static NodePageDto toPage(List<MindNode> nodes, int size) {
+        MindNode last = nodes.size() == size ? nodes.get(nodes.size() - 1) : null;
+        String nextCursor = last != null ? last.getCreationKey() + ":" + last.getId() : null;
+        List<MindNodeDto> items = nodes.stream().map(MindNodeService::toDto).collect(Collectors.toList());
+        return new NodePageDto(items, nextCursor, size);
+    }
+
+    /**
+     * Retrieves the aggregate node and connection counts of the graph.
+     *
+     * @return the graph statistics
+     */
+    public NodeStatsDto getStats() {
+        return graphStatsService.getStats();
+    }
+
     /**
      * Retrieves a specific node by its ID.
      *
@@ -79,7 +184,7 @@ public class MindNodeService {
     public Optional<MindNodeDto> getNodeById(String id) {
         log.debug("Retrieving node by ID: {}", id);
         Long nodeId = parseId(id);
-        Optional<MindNodeDto> node = mindNodeRepository.findById(nodeId).map(this::toDto);
+        Optional<MindNodeDto> node = mindNodeRepository.findById(nodeId).map(MindNodeService::toDto);
         if (node.isPresent()) {
             log.debug("Node found: {}", nodeId);
         } else {
@@ -104,42 +209,71 @@ public class MindNodeService {
         node.setY(dto.getY());
         node.setColor(dto.getColor());
         node.setType(dto.getType());
+        long version = hybridLogicalClock.now();
+        node.setCreationKey(version);
+        node.setTitleVersion(version);
+        node.setDescriptionVersion(version);
+        node.setPositionVersion(version);
+        node.setColorVersion(version);
+        node.setTypeVersion(version);
         MindNode saved = mindNodeRepository.save(node);
         MindNodeDto result = toDto(saved);
         log.info("Node created with ID: {}", saved.getId());
-        messagingTemplate.convertAndSend("/topic/nodes", result);
+        GraphDelta delta = GraphDelta.nodeCreated(saved.getType());
+        graphStatsService.record(delta);
+        changeEventBus.publish("/topic/nodes", result, null, delta);
         return result;
     }
 
     /**
      * Updates an existing node with new data and broadcasts the update via WebSocket.
+     * Only fields whose value differs from the stored one are written, so replacing the whole node
+     * does not claim the fields the client left alone. Each written field is versioned as described
+     * in {@link #resolveVersion}, using the client's timestamp from {@code dto.versions} if given.
      *
      * @param id the string representation of the node ID to update
      * @param dto the updated node data
-     * @return Optional containing the updated node DTO if found, empty otherwise
+     * @return Optional containing the merged node DTO if found, empty otherwise
+     * @throws IllegalArgumentException if the ID or a version is invalid
      */
     @Transactional
     public Optional<MindNodeDto> updateNode(String id, MindNodeDto dto) {
         log.info("Updating node ID: {}", id);
         Long nodeId = parseId(id);
-        Optional<MindNode> existing = mindNodeRepository.findById(nodeId);
-        if (existing.isPresent()) {
-            MindNode node = existing.get();
-            node.setTitle(dto.getTitle());
-            node.setDescription(dto.getDescription());
-            node.setX(dto.getX());
-            node.setY(dto.getY());
-            node.setColor(dto.getColor());
-            node.setType(dto.getType());
-            MindNode saved = mindNodeRepository.save(node);
-            MindNodeDto result = toDto(saved);
-            log.info("Node updated: {}", nodeId);
-            messagingTemplate.convertAndSend("/topic/nodes", result);
-            return Optional.of(result);
-        } else {
+        Optional<MindNode> current = mindNodeRepository.findById(nodeId);
+        if (current.isEmpty()) {
             log.warn("Node not found for update: {}", nodeId);
             return Optional.empty();
         }
+        MindNode node = current.get();
+        Map<String, Long> stored = observeStoredVersions(node);
+        Map<String, Long> versions = dto.getVersions() != null ? dto.getVersions() : Map.of();
+
+        // Version only the fields the client changed, the others are left untouched by the merge
+        Map<String, Long> written = new HashMap<>();
+        if (dto.getTitle() != null && !dto.getTitle().equals(node.getTitle())) {
+            written.put(TITLE, resolveVersion(versions.get(TITLE), stored.get(TITLE)));
+        }
+        if (!Objects.equals(dto.getDescription(), node.getDescription())) {
+            written.put(DESCRIPTION, resolveVersion(versions.get(DESCRIPTION), stored.get(DESCRIPTION)));
+        }
+        if ((dto.getX() != null && dto.getX() != node.getX()) || (dto.getY() != null && dto.getY() != node.getY())) {
+            written.put(POSITION, resolveVersion(versions.get(POSITION), stored.get(POSITION)));
+        }
+        if (!Objects.equals(dto.getColor(), node.getColor())) {
+            written.put(COLOR, resolveVersion(versions.get(COLOR), stored.get(COLOR)));
+        }
+        if (dto.getType() != null && dto.getType() != node.getType()) {
+            written.put(TYPE, resolveVersion(versions.get(TYPE), stored.get(TYPE)));
+        }
+        if (written.isEmpty()) {
+            log.info("Node unchanged: {}", nodeId);
+            return Optional.of(toDto(node));
+        }
+        MindNodeDto result = mergeFields(nodeId, dto.getTitle(), dto.getDescription(), dto.getX(), dto.getY(),
+                dto.getColor(), dto.getType() != null ? dto.getType().name() : null, written);
+        log.info("Node updated: {}", nodeId);
+        return Optional.of(result);
     }
 
     /**
@@ -153,9 +287,13 @@ public class MindNodeService {
         log.info("Deleting node ID: {}", id);
         Long nodeId = parseId(id);
         if (nodeExists(nodeId)) {
+            NodeType type = toNodeType(mindNodeRepository.findTypeById(nodeId));
+            long connections = mindNodeRepository.countConnectionsOf(nodeId);
             mindNodeRepository.deleteById(nodeId);
             log.info("Node deleted: {}", nodeId);
-            messagingTemplate.convertAndSend("/topic/nodes", Map.of("deleted", id));
+            GraphDelta delta = GraphDelta.nodeDeleted(type, connections);
+            graphStatsService.record(delta);
+            changeEventBus.publish("/topic/nodes", Map.of("deleted", id), null, delta);
             return true;
         } else {
             log.warn("Node not found for deletion: {}", nodeId);
@@ -165,7 +303,8 @@ public class MindNodeService {
 
     /**
      * Partially updates a node with the provided fields and broadcasts the update via WebSocket.
-     * Only the fields present in the updates map will be modified.
+     * Only the fields present in the updates map will be modified. An optional {@code versions}
+     * entry maps field names to the HLC timestamps of the client's edits; see {@link #updateNode}.
      *
      * @param id the string representation of the node ID to patch
      * @param updates map of field names to new values
@@ -179,11 +318,13 @@ public class MindNodeService {
         try {
             Long nodeId = parseId(id);
 
-            // Check if node exists
-            if (!nodeExists(nodeId)) {
+            // Check if node exists and move the clock past its stored versions
+            Optional<MindNode> current = mindNodeRepository.findById(nodeId);
+            if (current.isEmpty()) {
                 log.warn("Node not found for patch: {}", nodeId);
                 return Optional.empty();
             }
+            Map<String, Long> stored = observeStoredVersions(current.get());
 
             // Extract update values with null defaults
             String title = updates.containsKey("title") ? (String) updates.get("title") : null;
@@ -193,18 +334,33 @@ public class MindNodeService {
             String color = updates.containsKey("color") ? (String) updates.get("color") : null;
             String type = updates.containsKey("type") ? (String) updates.get("type") : null;
 
-            // Update only the specified fields using Cypher query
-            mindNodeRepository.updateNodeFields(nodeId, title, description, x, y, color, type);
+            // Version only the provided fields, the others are left untouched by the merge
+            Map<String, Long> versions = parseVersions(updates.get(VERSIONS));
+            Map<String, Long> written = new HashMap<>();
+            if (title != null) {
+                written.put(TITLE, resolveVersion(versions.get(TITLE), stored.get(TITLE)));
+            }
+            if (description != null) {
+                written.put(DESCRIPTION, resolveVersion(versions.get(DESCRIPTION), stored.get(DESCRIPTION)));
+            }
+            if (x != null || y != null) {
+                written.put(POSITION, resolveVersion(versions.get(POSITION), stored.get(POSITION)));
+            }
+            if (color != null) {
+                written.put(COLOR, resolveVersion(versions.get(COLOR), stored.get(COLOR)));
+            }
+            if (type != null) {
+                written.put(TYPE, resolveVersion(versions.get(TYPE), stored.get(TYPE)));
+            }
 
-            // Fetch the updated node
-            MindNode updatedNode = mindNodeRepository.findById(nodeId).orElseThrow();
-            MindNodeDto result = toDto(updatedNode);
+            MindNodeDto result = mergeFields(nodeId, title, description, x, y, color, type, written);
             log.info("Node patched: {}", nodeId);
-            messagingTemplate.convertAndSend("/topic/nodes", result);
             return Optional.of(result);
         } catch (NumberFormatException e) {
             log.error("Invalid node ID format for patch: {}", id, e);
             throw new IllegalArgumentException("Invalid node ID: " + id);
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error patching node: {}", id, e);
             throw new RuntimeException("Error patching node: " + id, e);
@@ -235,7 +391,9 @@ public class MindNodeService {
             if (!alreadyConnected) {
                 mindNodeRepository.connectNodes(sourceId, targetId);
                 log.info("Nodes connected: {} -> {}", sourceId, targetId);
-                messagingTemplate.convertAndSend("/topic/graph", getAllNodes());
+                GraphDelta delta = GraphDelta.connectionCreated(sourceId, targetId);
+                graphStatsService.record(delta);
+                changeEventBus.publish("/topic/graph", getAllNodes(), null, delta);
                 return true;
             } else {
                 log.warn("Nodes already connected: {} -> {}", sourceId, targetId);
@@ -251,6 +409,129 @@ public class MindNodeService {
         }
     }
 
+    /**
+     * Merges field writes into a node in a single conditional Cypher statement and broadcasts the
+     * result via WebSocket when at least one field won. When only the position won, clients using
+     * the compact encoding receive a {@link PositionDeltaDto} instead of the full node.
+     * The returned DTO carries the stored values and versions, so clients whose writes lost
+     * converge on the winning state.
+     *
+     * @param nodeId the ID of the node to update
+     * @param title new title
+     * @param description new description
+     * @param x new x-coordinate
+     * @param y new y-coordinate
+     * @param color new color
+     * @param type new type name
+     * @param written versions of the fields being written, keyed by field name
+     * @return the node after the merge
+     */
+    private MindNodeDto mergeFields(Long nodeId, String title, String description, Double x, Double y,
+                                    String color, String type, Map<String, Long> written) {
+        NodeType previousType = toNodeType(mindNodeRepository.mergeNodeFields(nodeId,
+                title, written.get(TITLE),
+                description, written.get(DESCRIPTION),
+                x, y, written.get(POSITION),
+                color, written.get(COLOR),
+                type, written.get(TYPE)));
+        MindNode merged = mindNodeRepository.findById(nodeId).orElseThrow();
+        MindNodeDto result = toDto(merged);
+        Map<String, Long> stored = result.getVersions();
+        Set<String> won = written.entrySet().stream()
+                .filter(entry -> Objects.equals(entry.getValue(), stored.get(entry.getKey())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        if (!won.isEmpty()) {
+            GraphDelta delta = GraphDelta.nodeTypeChanged(previousType, merged.getType());
+            graphStatsService.record(delta);
+            // Drag traffic only moves nodes: compact subscribers get just the new position
+            Object compact = won.equals(Set.of(POSITION))
+                    ? new PositionDeltaDto(result.getId(), result.getX(), result.getY(), stored.get(POSITION))
+                    : null;
+            changeEventBus.publish("/topic/nodes", result, compact, delta);
+        } else {
+            log.info("Stale write ignored for node {}: all fields have newer versions", nodeId);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the version to write a field with. A client timestamp newer than the stored version
+     * is the time of the client's edit and is written as is, after the drift check of
+     * {@link HybridLogicalClock#update(long)}. A client timestamp equal to the stored version is the
+     * base the client edited, and an edit without a timestamp has no base: both get a new server
+     * timestamp, which is newer than the stored version because the clock observed it. A client
+     * timestamp older than the stored version is kept too, so the merge rejects the write in favor
+     * of the newer value instead of letting the last request win.
+     *
+     * @param clientVersion the HLC timestamp sent by the client, may be null
+     * @param storedVersion the version currently stored for the field, may be null
+     * @return the version for the field write
+     * @throws IllegalArgumentException if the client timestamp is invalid
+     */
+    private long resolveVersion(Long clientVersion, Long storedVersion) {
+        if (clientVersion == null) {
+            return hybridLogicalClock.now();
+        }
+        hybridLogicalClock.update(clientVersion);
+        return clientVersion.equals(storedVersion) ? hybridLogicalClock.now() : clientVersion;
+    }
+
+    /**
+     * Moves the clock past the versions stored on a node, so server timestamps issued afterwards
+     * win over them even if they were written by an instance whose clock runs ahead.
+     *
+     * @param node the stored node
+     * @return the stored field versions, keyed by field name
+     */
+    private Map<String, Long> observeStoredVersions(MindNode node) {
+        Map<String, Long> stored = toVersions(node);
+        stored.values().forEach(hybridLogicalClock::observe);
+        return stored;
+    }
+
+    /**
+     * Extracts the field versions sent in a patch request.
+     *
+     * @param raw the value of the {@code versions} entry, may be null
+     * @return map of field names to HLC timestamps
+     * @throws IllegalArgumentException if the value is not a map of numbers
+     */
+    private Map<String, Long> parseVersions(Object raw) {
+        Map<String, Long> versions = new HashMap<>();
+        if (raw == null) {
+            return versions;
+        }
+        if (!(raw instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Versions must be an object of field timestamps");
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getValue() instanceof Number version)) {
+                throw new IllegalArgumentException("Invalid version for field: " + entry.getKey());
+            }
+            versions.put(String.valueOf(entry.getKey()), version.longValue());
+        }
+        return versions;
+    }
+
+    /**
+     * Converts a stored type name to its enum value.
+     *
+     * @param type the stored type name, may be null
+     * @return the matching node type, or null if the name is null or unknown
+     */
+    private NodeType toNodeType(String type) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return NodeType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown node type stored: {}", type);
+            return null;
+        }
+    }
+
     /**
      * Converts a MindNode entity to its DTO representation.
      * Maps all fields and converts connections to a list of IDs.
@@ -258,7 +539,7 @@ public class MindNodeService {
      * @param node the entity to convert
      * @return the corresponding DTO
      */
-    private MindNodeDto toDto(MindNode node) {
+    static MindNodeDto toDto(MindNode node) {
         return new MindNodeDto(
                 node.getId(),
                 node.getTitle(),
@@ -269,6 +550,36 @@ public class MindNodeService {
                 node.getType(),
                 node.getCreatedAt(),
                 node.getUpdatedAt(),
-                node.getConnections().stream().map(MindNode::getId).collect(Collectors.toList()));
+                node.getConnections().stream().map(MindNode::getId).collect(Collectors.toList()),
+                toVersions(node));
+    }
+
+    /**
+     * Collects the per-field versions of a node, omitting fields that were never versioned.
+     *
+     * @param node the entity to read versions from
+     * @return map of field names to HLC timestamps
+     */
+    private static Map<String, Long> toVersions(MindNode node) {
+        Map<String, Long> versions = new HashMap<>();
+        putIfNotNull(versions, TITLE, node.getTitleVersion());
+        putIfNotNull(versions, DESCRIPTION, node.getDescriptionVersion());
+        putIfNotNull(versions, POSITION, node.getPositionVersion());
+        putIfNotNull(versions, COLOR, node.getColorVersion());
+        putIfNotNull(versions, TYPE, node.getTypeVersion());
+        return versions;
+    }
+
+    /**
+     * Puts a value into the map only if it is not null.
+     *
+     * @param map the target map
+     * @param key the key to put
+     * @param value the value, may be null
+     */
+    private static void putIfNotNull(Map<String, Long> map, String key, Long value) {
+        if (value != null) {
+            map.put(key, value);
+        }
     }
 }
@@ -0,0 +1,481 @@
+package com.mindmesh.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindmesh.dto.ClusterEdgeDto;
+import com.mindmesh.dto.ClusterViewDto;
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodeClusterDto;
+import com.mindmesh.event.GraphChangedEvent;
+import com.mindmesh.event.GraphDelta;
+import com.mindmesh.model.NodeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service producing level-of-detail views of the mind map for zoomed-out rendering.
+ *
+ * Node positions are kept in an in-memory grid pyramid: level {@code k} divides the canvas into
+ * square cells of {@code BASE_CELL_SIZE * 2^k} units and stores, per cell, the node count,
+ * coordinate sums and type counts, plus the number of connections between each pair of cells.
+ * Every change broadcast through the event bus updates all levels incrementally, so a query only
+ * visits the cells of the level matching the zoom: the response size depends on the screen area,
+ * not on the number of nodes in the map. New connections are applied from the endpoints in the
+ * event's {@link GraphDelta} rather than from the full graph broadcast with them, and node payloads
+ * that a serializing transport turned into maps are converted back before being applied.
+ *
+ * @author Yuri Pedrosa
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NodeClusterService {
+
+    private static final double BASE_CELL_SIZE = 32.0;
+    private static final int LEVEL_COUNT = 24;
+
+    /**
+     * Target side length of a cluster cell on screen, in pixels.
+     */
+    private static final double TARGET_CELL_PIXELS = 64.0;
+
+    /**
+     * Maximum number of cells a single view may span.
+     */
+    private static final long MAX_VIEW_CELLS = 10_000;
+
+    private final MindNodeService mindNodeService;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedNode> nodes = new HashMap<>();
+    private final Map<Long, Set<Long>> incoming = new HashMap<>();
+    private final Level[] levels = new Level[LEVEL_COUNT];
+    private boolean initialized;
+
+    /**
+     * Returns the clusters and inter-cluster connection counts inside a bounding box.
+     *
+     * @param bbox bounding box in canvas units as {@code minX,minY,maxX,maxY}
+     * @param zoom canvas scale, i.e. screen pixels per canvas unit
+     * @return the clustered view
+     * @throws IllegalArgumentException if the bounding box or zoom is invalid or the view spans too many cells
+     */
+    public ClusterViewDto getClusters(String bbox, double zoom) {
+        double[] box = parseBoundingBox(bbox);
+        if (!(zoom > 0) || Double.isInfinite(zoom)) {
+            throw new IllegalArgumentException("Zoom must be a positive number");
+        }
+        ensureInitialized();
+        lock.readLock().lock();
+        try {
+            Level level = levels[levelFor(zoom)];
+            long minCx = level.cellCoordinate(box[0]);
+            long minCy = level.cellCoordinate(box[1]);
+            long maxCx = level.cellCoordinate(box[2]);
+            long maxCy = level.cellCoordinate(box[3]);
+            long columns = maxCx - minCx + 1;
+            long rows = maxCy - minCy + 1;
+            // Check each axis first: the product of two clamped spans can overflow a long
+            if (columns > MAX_VIEW_CELLS || rows > MAX_VIEW_CELLS || columns * rows > MAX_VIEW_CELLS) {
+                throw new IllegalArgumentException("Bounding box is too large for zoom " + zoom);
+            }
+            long span = columns * rows;
+
+            Map<Long, Cell> visible = new HashMap<>();
+            if (span <= level.cells.size()) {
+                for (long cx = minCx; cx <= maxCx; cx++) {
+                    for (long cy = minCy; cy <= maxCy; cy++) {
+                        long key = cellKey(cx, cy);
+                        Cell cell = level.cells.get(key);
+                        if (cell != null) {
+                            visible.put(key, cell);
+                        }
+                    }
+                }
+            } else {
+                level.cells.forEach((key, cell) -> {
+                    long cx = key >> 32;
+                    long cy = (int) (long) key;
+                    if (cx >= minCx && cx <= maxCx && cy >= minCy && cy <= maxCy) {
+                        visible.put(key, cell);
+                    }
+                });
+            }
+
+            List<NodeClusterDto> clusters = new ArrayList<>(visible.size());
+            List<ClusterEdgeDto> edges = new ArrayList<>();
+            for (Map.Entry<Long, Cell> entry : visible.entrySet()) {
+                long key = entry.getKey();
+                Cell cell = entry.getValue();
+                clusters.add(new NodeClusterDto(cellId(key), cell.sumX / cell.count, cell.sumY / cell.count,
+                        cell.count, cell.dominantType()));
+                level.edges.getOrDefault(key, Map.of()).forEach((other, count) -> {
+                    if (key < other && visible.containsKey(other)) {
+                        edges.add(new ClusterEdgeDto(cellId(key), cellId(other), count));
+                    }
+                });
+            }
+            return new ClusterViewDto(level.cellSize, clusters, edges);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change to the index. New connections are added as single edges, node
+     * payloads are upserted, deletions removed and other full graph broadcasts replace the index;
+     * any other payload marks the index for reload.
+     *
+     * @param event the graph change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(GraphChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!initialized) {
+                return;
+            }
+            GraphDelta delta = event.getDelta();
+            Object payload = event.getPayload();
+            if (delta != null && delta.getSourceId() != null && delta.getTargetId() != null) {
+                connect(delta.getSourceId(), delta.getTargetId());
+            } else if (payload instanceof Map<?, ?> map && map.get("deleted") != null) {
+                delete(Long.valueOf(String.valueOf(map.get("deleted"))));
+            } else if (payload instanceof List<?> list) {
+                rebuild(list.stream().map(this::toNode).toList());
+            } else {
+                upsert(toNode(payload));
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Unrecognized change payload on {}, cluster index will be reloaded", event.getDestination());
+            initialized = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the index from the repository if it has not been loaded yet or was invalidated.
+     */
+    private void ensureInitialized() {
+        lock.readLock().lock();
+        try {
+            if (initialized) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!initialized) {
+                log.debug("Loading cluster index from repository");
+                rebuild(mindNodeService.getAllNodes());
+                initialized = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given nodes.
+     *
+     * @param all every node of the graph
+     */
+    private void rebuild(Collection<MindNodeDto> all) {
+        nodes.clear();
+        incoming.clear();
+        for (int i = 0; i < LEVEL_COUNT; i++) {
+            levels[i] = new Level(BASE_CELL_SIZE * Math.pow(2, i));
+        }
+        for (MindNodeDto dto : all) {
+            upsert(dto);
+        }
+    }
+
+    /**
+     * Converts a broadcast payload to a node, accepting the map form produced by transports that
+     * serialize events.
+     *
+     * @param payload the payload
+     * @return the node
+     * @throws IllegalArgumentException if the payload does not describe a node
+     */
+    private MindNodeDto toNode(Object payload) {
+        if (payload instanceof MindNodeDto dto) {
+            return dto;
+        }
+        if (payload instanceof Map<?, ?> map && map.get("id") != null) {
+            return objectMapper.convertValue(map, MindNodeDto.class);
+        }
+        throw new IllegalArgumentException("Not a node payload");
+    }
+
+    /**
+     * Adds a connection between two indexed nodes, mirroring the relationship created in the graph.
+     * Connections that are already indexed or whose source is not indexed are ignored; an unindexed
+     * target is counted once it is inserted.
+     *
+     * @param sourceId the ID of the source node
+     * @param targetId the ID of the target node
+     */
+    private void connect(Long sourceId, Long targetId) {
+        IndexedNode source = nodes.get(sourceId);
+        if (source == null || sourceId.equals(targetId) || !source.outgoing.add(targetId)) {
+            return;
+        }
+        incoming.computeIfAbsent(targetId, id -> new HashSet<>()).add(sourceId);
+        IndexedNode target = nodes.get(targetId);
+        if (target != null) {
+            for (Level level : levels) {
+                level.addEdge(level.cellOf(source.x, source.y), level.cellOf(target.x, target.y), 1);
+            }
+        }
+    }
+
+    /**
+     * Inserts or moves a node. Updates older than the indexed state, according to the
+     * node's field versions, are ignored so that out-of-order events cannot move a node back.
+     *
+     * @param dto the node state
+     */
+    private void upsert(MindNodeDto dto) {
+        long version = dto.getVersions() != null
+                ? dto.getVersions().values().stream().mapToLong(Long::longValue).max().orElse(0)
+                : 0;
+        IndexedNode previous = nodes.get(dto.getId());
+        if (previous != null) {
+            if (previous.version > version) {
+                return;
+            }
+            apply(previous, -1);
+            previous.outgoing.forEach(target -> removeIncoming(target, previous.id));
+        }
+        Set<Long> outgoing = dto.getConnectionIds() != null ? new HashSet<>(dto.getConnectionIds()) : new HashSet<>();
+        IndexedNode node = new IndexedNode(dto.getId(), dto.getX() != null ? dto.getX() : 0,
+                dto.getY() != null ? dto.getY() : 0, dto.getType(), outgoing, version);
+        outgoing.forEach(target -> incoming.computeIfAbsent(target, id -> new HashSet<>()).add(node.id));
+        nodes.put(node.id, node);
+        apply(node, 1);
+    }
+
+    /**
+     * Removes a node and its connections, mirroring a detach delete in the graph.
+     *
+     * @param id the ID of the deleted node
+     */
+    private void delete(Long id) {
+        IndexedNode node = nodes.get(id);
+        if (node == null) {
+            return;
+        }
+        apply(node, -1);
+        nodes.remove(id);
+        node.outgoing.forEach(target -> removeIncoming(target, id));
+        Set<Long> sources = incoming.remove(id);
+        if (sources != null) {
+            for (Long source : sources) {
+                IndexedNode sourceNode = nodes.get(source);
+                if (sourceNode != null) {
+                    sourceNode.outgoing.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or removes the contribution of a node to the cells and cell connections of every level.
+     * Connections are counted only when both endpoints are indexed.
+     *
+     * @param node the node
+     * @param sign 1 to add the node, -1 to remove it
+     */
+    private void apply(IndexedNode node, int sign) {
+        Set<Long> sources = incoming.getOrDefault(node.id, Set.of());
+        for (Level level : levels) {
+            long key = level.cellOf(node.x, node.y);
+            level.addNode(key, node, sign);
+            for (Long target : node.outgoing) {
+                IndexedNode other = nodes.get(target);
+                if (other != null && other != node) {
+                    level.addEdge(key, level.cellOf(other.x, other.y), sign);
+                }
+            }
+            for (Long source : sources) {
+                IndexedNode other = nodes.get(source);
+                if (other != null && other != node) {
+                    level.addEdge(level.cellOf(other.x, other.y), key, sign);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a source from the incoming connections of a target.
+     *
+     * @param target the target node ID
+     * @param source the source node ID
+     */
+    private void removeIncoming(Long target, Long source) {
+        Set<Long> sources = incoming.get(target);
+        if (sources != null) {
+            sources.remove(source);
+            if (sources.isEmpty()) {
+                incoming.remove(target);
+            }
+        }
+    }
+
+    /**
+     * Chooses the pyramid level whose cells are closest to {@link #TARGET_CELL_PIXELS} on screen.
+     *
+     * @param zoom screen pixels per canvas unit
+     * @return the level index
+     */
+    private static int levelFor(double zoom) {
+        double cellSize = TARGET_CELL_PIXELS / zoom;
+        int level = (int) Math.round(Math.log(cellSize / BASE_CELL_SIZE) / Math.log(2));
+        return Math.max(0, Math.min(LEVEL_COUNT - 1, level));
+    }
+
+    /**
+     * Parses a bounding box given as {@code minX,minY,maxX,maxY}.
+     *
+     * @param bbox the bounding box string
+     * @return the four coordinates
+     * @throws IllegalArgumentException if the format or values are invalid
+     */
+    private static double[] parseBoundingBox(String bbox) {
+        String[] parts = bbox != null ? bbox.split(",") : new String[0];
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be minX,minY,maxX,maxY: " + bbox);
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(parts[i].trim());
+                if (!Double.isFinite(box[i])) {
+                    throw new NumberFormatException();
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid bounding box: " + bbox);
+        }
+        if (box[0] > box[2] || box[1] > box[3]) {
+            throw new IllegalArgumentException("Bounding box minimum must not exceed maximum: " + bbox);
+        }
+        return box;
+    }
+
+    /**
+     * Packs the coordinates of a cell into a single map key.
+     *
+     * @param cx the cell column
+     * @param cy the cell row
+     * @return the cell key
+     */
+    private static long cellKey(long cx, long cy) {
+        return (cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Formats a cell key as the {@code column:row} ID exposed to clients.
+     *
+     * @param key the cell key
+     * @return the cell ID
+     */
+    private static String cellId(long key) {
+        return (key >> 32) + ":" + (int) key;
+    }
+
+    /**
+     * Indexed state of a node.
+     */
+    private record IndexedNode(long id, double x, double y, NodeType type, Set<Long> outgoing, long version) {
+    }
+
+    /**
+     * Aggregates of the nodes in one cell.
+     */
+    private static final class Cell {
+        private int count;
+        private double sumX;
+        private double sumY;
+        private final int[] typeCounts = new int[NodeType.values().length];
+
+        private NodeType dominantType() {
+            int best = -1;
+            for (int i = 0; i < typeCounts.length; i++) {
+                if (typeCounts[i] > 0 && (best < 0 || typeCounts[i] > typeCounts[best])) {
+                    best = i;
+                }
+            }
+            return best < 0 ? null : NodeType.values()[best];
+        }
+    }
+
+    /**
+     * One level of the grid pyramid.
+     */
+    private static final class Level {
+        private final double cellSize;
+        private final Map<Long, Cell> cells = new HashMap<>();
+        private final Map<Long, Map<Long, Integer>> edges = new HashMap<>();
+
+        private Level(double cellSize) {
+            this.cellSize = cellSize;
+        }
+
+        private long cellCoordinate(double value) {
+            double coordinate = Math.floor(value / cellSize);
+            return (long) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, coordinate));
+        }
+
+        private long cellOf(double x, double y) {
+            return cellKey(cellCoordinate(x), cellCoordinate(y));
+        }
+
+        private void addNode(long key, IndexedNode node, int sign) {
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            cell.count += sign;
+            cell.sumX += sign * node.x();
+            cell.sumY += sign * node.y();
+            if (node.type() != null) {
+                cell.typeCounts[node.type().ordinal()] += sign;
+            }
+            if (cell.count <= 0) {
+                cells.remove(key);
+            }
+        }
+
+        private void addEdge(long from, long to, int sign) {
+            if (from == to) {
+                return;
+            }
+            adjust(from, to, sign);
+            adjust(to, from, sign);
+        }
+
+        private void adjust(long from, long to, int sign) {
+            Map<Long, Integer> adjacent = edges.computeIfAbsent(from, k -> new HashMap<>());
+            if (adjacent.merge(to, sign, Integer::sum) <= 0) {
+                adjacent.remove(to);
+                if (adjacent.isEmpty()) {
+                    edges.remove(from);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.mindmesh.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindmesh.event.GraphChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service caching the serialized JSON of the full node list, as returned by {@code GET /api/nodes}.
+ * The snapshot is keyed by a graph version that is bumped after every committed change, so
+ * concurrent readers share one immutable byte array until the next mutation.
+ * Rebuilds are single-flight: when the snapshot is stale, one caller queries and serializes
+ * while the others wait for the same result.
+ *
+ * @author Yuri Pedrosa
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NodeSnapshotService {
+
+    private final MindNodeService mindNodeService;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong graphVersion = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Snapshot>> current = new AtomicReference<>();
+
+    @Value("${mindmesh.snapshot.gzip:true}")
+    private boolean gzipEnabled;
+
+    /**
+     * Returns the snapshot for the current graph version, building it if necessary.
+     *
+     * @return the cached snapshot
+     */
+    public Snapshot getSnapshot() {
+        while (true) {
+            long version = graphVersion.get();
+            CompletableFuture<Snapshot> cached = current.get();
+            if (cached != null) {
+                // Waits if another caller is building the snapshot
+                Snapshot snapshot = join(cached);
+                if (snapshot.version() >= version) {
+                    return snapshot;
+                }
+            }
+            CompletableFuture<Snapshot> build = new CompletableFuture<>();
+            if (current.compareAndSet(cached, build)) {
+                try {
+                    build.complete(build(version));
+                } catch (RuntimeException e) {
+                    build.completeExceptionally(e);
+                    current.compareAndSet(build, null);
+                    throw e;
+                }
+                return build.join();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached snapshot after a change is committed, or immediately for changes
+     * published outside a transaction (such as events relayed from peer instances).
+     *
+     * @param event the graph change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(GraphChangedEvent event) {
+        graphVersion.incrementAndGet();
+    }
+
+    /**
+     * Waits for a snapshot being built by another caller.
+     *
+     * @param future the pending build
+     * @return the built snapshot
+     */
+    private Snapshot join(CompletableFuture<Snapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queries all nodes and serializes them for the given graph version.
+     *
+     * @param version the graph version read before querying
+     * @return the new snapshot
+     */
+    private Snapshot build(long version) {
+        log.debug("Building node snapshot for graph version {}", version);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(mindNodeService.getAllNodes());
+            byte[] gzip = gzipEnabled ? gzip(json) : null;
+            log.debug("Node snapshot built: {} bytes, {} gzipped", json.length, gzip != null ? gzip.length : 0);
+            return new Snapshot(version, json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize node snapshot", e);
+        }
+    }
+
+    /**
+     * Compresses bytes with gzip.
+     *
+     * @param data the bytes to compress
+     * @return the compressed bytes
+     */
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Serialized node list for one graph version. The arrays are shared between all readers
+     * and must not be modified.
+     *
+     * @param version the graph version the snapshot was built from
+     * @param json the JSON bytes of the node list
+     * @param gzip the gzip-compressed JSON bytes, or null if compression is disabled
+     */
+    public record Snapshot(long version, byte[] json, byte[] gzip) {
+    }
+}
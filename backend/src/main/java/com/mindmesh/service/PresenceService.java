@@ -0,0 +1,166 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.PresenceDto;
+import com.mindmesh.dto.PresenceMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service managing the ephemeral presence of collaborators (cursor position and selection).
+ * State lives only in memory and is never written to Neo4j.
+ *
+ * Updates are conflated per session: only the latest state of each collaborator is kept and
+ * pending states are broadcast in a single batch at a fixed rate, so a fast-moving cursor costs
+ * at most one message per flush interval regardless of how often the client sends.
+ * The session table is a {@link ConcurrentHashMap}, whose per-bin locking keeps updates from
+ * different sessions from contending with each other.
+ * A session's presence lives as long as its WebSocket session and is removed only on disconnect,
+ * so an idle collaborator keeps their name and color however long they stay still.
+ * Sessions are registered on connect and updates from unknown sessions are dropped, so an update
+ * processed after the disconnect cannot bring a departed collaborator back. Flushes and disconnects
+ * broadcast under a common lock, so a batch collected before a disconnect is always sent before
+ * the corresponding {@code left} message and never resurrects the cursor on clients.
+ * Names, colors and selections come from untrusted clients and are capped in size.
+ *
+ * @author Yuri Pedrosa
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+
+    private static final String PRESENCE_TOPIC = "/topic/presence";
+
+    static final int MAX_SELECTED_NODES = 100;
+    static final int MAX_USER_NAME_LENGTH = 64;
+    static final int MAX_COLOR_LENGTH = 32;
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, PresenceEntry> sessions = new ConcurrentHashMap<>();
+
+    private final Object broadcastLock = new Object();
+
+    /**
+     * Registers a session when the broker reports its connection. The session has no presence
+     * state until its first update.
+     *
+     * @param event the connect event published by the message broker
+     */
+    @EventListener
+    public void onSessionConnect(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new PresenceEntry(null, false));
+        }
+    }
+
+    /**
+     * Records the latest presence state of a session. Fields missing from the message keep
+     * their previous value, so clients can send cursor-only or selection-only updates.
+     * Over-long names and colors are truncated and selections beyond {@value #MAX_SELECTED_NODES}
+     * nodes are cut off. Updates from sessions that are not connected are ignored.
+     * The state is broadcast on the next flush.
+     *
+     * @param sessionId the WebSocket session ID of the sender
+     * @param message the presence update
+     */
+    public void updatePresence(String sessionId, PresenceMessage message) {
+        long now = System.currentTimeMillis();
+        PresenceEntry updated = sessions.computeIfPresent(sessionId, (id, entry) -> {
+            PresenceDto previous = entry.state() != null ? entry.state() : new PresenceDto();
+            PresenceDto state = new PresenceDto(
+                    id,
+                    message.getUserName() != null ? truncate(message.getUserName(), MAX_USER_NAME_LENGTH) : previous.getUserName(),
+                    message.getColor() != null ? truncate(message.getColor(), MAX_COLOR_LENGTH) : previous.getColor(),
+                    message.getX() != null ? message.getX() : previous.getX(),
+                    message.getY() != null ? message.getY() : previous.getY(),
+                    message.getSelectedNodeIds() != null ? capSelection(message.getSelectedNodeIds()) : previous.getSelectedNodeIds(),
+                    now);
+            return new PresenceEntry(state, true);
+        });
+        if (updated == null) {
+            log.debug("Presence update ignored for unknown session: {}", sessionId);
+        }
+    }
+
+    /**
+     * Returns the current presence state of all connected collaborators.
+     * Used by clients to render existing cursors right after subscribing.
+     *
+     * @return list of presence states
+     */
+    public List<PresenceDto> getAllPresence() {
+        return sessions.values().stream().map(PresenceEntry::state).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Broadcasts the pending presence updates at a fixed rate.
+     */
+    @Scheduled(fixedRateString = "${mindmesh.presence.flush-interval-ms:50}")
+    public void flush() {
+        synchronized (broadcastLock) {
+            List<PresenceDto> pending = new ArrayList<>();
+            for (String sessionId : sessions.keySet()) {
+                sessions.computeIfPresent(sessionId, (id, entry) -> {
+                    if (entry.dirty()) {
+                        pending.add(entry.state());
+                        return new PresenceEntry(entry.state(), false);
+                    }
+                    return entry;
+                });
+            }
+            if (!pending.isEmpty()) {
+                messagingTemplate.convertAndSend(PRESENCE_TOPIC, Map.of("presence", pending));
+            }
+        }
+    }
+
+    /**
+     * Removes the presence of a session when the broker reports its disconnection
+     * and notifies the other collaborators.
+     *
+     * @param event the disconnect event published by the message broker
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        synchronized (broadcastLock) {
+            PresenceEntry removed = sessions.remove(sessionId);
+            if (removed != null && removed.state() != null) {
+                log.debug("Presence removed for disconnected session: {}", sessionId);
+                messagingTemplate.convertAndSend(PRESENCE_TOPIC, Map.of("left", sessionId));
+            }
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static List<Long> capSelection(List<Long> selectedNodeIds) {
+        return selectedNodeIds.stream().filter(Objects::nonNull).limit(MAX_SELECTED_NODES).toList();
+    }
+
+    /**
+     * Latest presence state of a session and whether it still has to be broadcast.
+     *
+     * @param state the latest presence state, or null if the session has not sent an update yet
+     * @param dirty true if the state changed since the last flush
+     */
+    private record PresenceEntry(PresenceDto state, boolean dirty) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodePageDto;
+import com.mindmesh.model.NodeType;
+import com.mindmesh.repository.ReactiveMindNodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read operations of {@link MindNodeService}.
+ * Queries go through the reactive Neo4j driver and results are returned as publishers,
+ * so no thread waits on database I/O. Mutations stay on {@link MindNodeService}, which
+ * handles versioning, statistics and broadcasting.
+ * Enabled with {@code mindmesh.reactive.enabled=true}.
+ *
+ * @author Yuri Pedrosa
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "mindmesh.reactive.enabled", havingValue = "true")
+public class ReactiveMindNodeService {
+
+    private final ReactiveMindNodeRepository reactiveMindNodeRepository;
+
+    /**
+     * Retrieves all mind map nodes from the repository.
+     *
+     * @return publisher of all nodes as DTOs
+     */
+    public Flux<MindNodeDto> getAllNodes() {
+        log.debug("Retrieving all mind nodes (reactive)");
+        return reactiveMindNodeRepository.findAll().map(MindNodeService::toDto);
+    }
+
+    /**
+     * Retrieves a specific node by its ID.
+     *
+     * @param id the string representation of the node ID
+     * @return publisher of the node DTO, empty if not found
+     * @throws IllegalArgumentException if the ID format is invalid
+     */
+    public Mono<MindNodeDto> getNodeById(String id) {
+        Long nodeId = MindNodeService.parseId(id);
+        return reactiveMindNodeRepository.findById(nodeId).map(MindNodeService::toDto);
+    }
+
+    /**
+     * Retrieves one page of nodes of the given type using keyset pagination.
+     *
+     * @param type the node type to filter by
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param size maximum number of nodes in the page
+     * @return publisher of the page of nodes and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor or page size is invalid
+     */
+    public Mono<NodePageDto> getNodesByType(NodeType type, String after, int size) {
+        MindNodeService.validatePageSize(size);
+        long[] cursor = MindNodeService.parseCursor(after);
+        return reactiveMindNodeRepository.findPageByType(type.name(), cursor[0], cursor[1], size)
+                .collectList()
+                .map(nodes -> MindNodeService.toPage(nodes, size));
+    }
+}
@@ -0,0 +1,170 @@
+package com.mindmesh.benchmark;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP load generator for the WebSocket channels of a running MindMesh backend.
+ * Each simulated collaborator connects to the raw WebSocket transport of the {@code /ws} endpoint,
+ * subscribes to {@code /topic/presence} and sends a burst of cursor updates to {@code /app/presence}.
+ * Every update goes through the client inbound channel, the presence conflation and the broker and
+ * client outbound channels, so the run exercises the thread pools configured by
+ * {@code mindmesh.threads.virtual}. Presence is never persisted, so no Neo4j data is needed.
+ *
+ * The run ends when the last update of every client has been broadcast. The inbound channel may
+ * process the updates of one session out of order, so the last update is recognized by a marker
+ * color rather than by its position: fields missing from later-processed updates keep their value.
+ * Reported: inbound messages per second, broadcast frames received per second, and the delay
+ * between a client's last send and the broadcast carrying it.
+ *
+ * Usage: {@code StompLoadBenchmark [ws-url] [clients] [messages-per-client]}
+ *
+ * @author Yuri Pedrosa
+ */
+public final class StompLoadBenchmark {
+
+    private static final long TIMEOUT_SECONDS = 120;
+    private static final String USER_PREFIX = "bench-";
+    private static final String DONE_COLOR = "#000000";
+
+    private StompLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "ws://localhost:8080/ws/websocket";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int messages = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setInboundMessageSizeLimit(16 * 1024 * 1024);
+
+        AtomicLong framesReceived = new AtomicLong();
+        CountDownLatch allSeen = new CountDownLatch(clients);
+        long[] lastSentAt = new long[clients];
+        long[] seenAt = new long[clients];
+        List<StompSession> sessions = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() { })
+                    .get(10, TimeUnit.SECONDS);
+            session.subscribe("/topic/presence",
+                    new PresenceHandler(i == 0, framesReceived, seenAt, allSeen));
+            sessions.add(session);
+        }
+        // Lets the subscriptions reach the broker before the first update is sent
+        Thread.sleep(500);
+
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                senders.submit(() -> {
+                    StompSession session = sessions.get(client);
+                    for (int m = 1; m < messages; m++) {
+                        session.send("/app/presence", Map.of("userName", userName(client), "x", m, "y", m));
+                    }
+                    lastSentAt[client] = System.nanoTime();
+                    session.send("/app/presence", Map.of("userName", userName(client), "x", messages, "y", messages,
+                            "color", DONE_COLOR));
+                });
+            }
+        }
+        long sent = System.nanoTime();
+        boolean completed = allSeen.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long end = System.nanoTime();
+
+        long total = (long) clients * messages;
+        double sendSeconds = (sent - start) / 1e9;
+        double totalSeconds = (end - start) / 1e9;
+        System.out.printf("clients=%d messages/client=%d total=%d%n", clients, messages, total);
+        System.out.printf("send phase:        %.2f s (%.0f msg/s offered)%n", sendSeconds, total / sendSeconds);
+        System.out.printf("end to end:        %.2f s (%.0f msg/s processed)%s%n", totalSeconds, total / totalSeconds,
+                completed ? "" : " INCOMPLETE, timed out");
+        System.out.printf("broadcast frames:  %d (%.0f frames/s received)%n", framesReceived.get(),
+                framesReceived.get() / totalSeconds);
+
+        double[] delays = new double[clients];
+        int count = 0;
+        for (int i = 0; i < clients; i++) {
+            if (seenAt[i] != 0) {
+                delays[count++] = (seenAt[i] - lastSentAt[i]) / 1e6;
+            }
+        }
+        Arrays.sort(delays, 0, count);
+        if (count > 0) {
+            System.out.printf("last update delay: p50 %.1f ms, p99 %.1f ms, max %.1f ms (%d of %d clients)%n",
+                    delays[count / 2], delays[Math.min(count - 1, (int) (count * 0.99))], delays[count - 1], count, clients);
+        }
+
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+        System.exit(completed ? 0 : 1);
+    }
+
+    private static String userName(int client) {
+        return USER_PREFIX + client;
+    }
+
+    /**
+     * Counts presence broadcasts. The handler of the first session also acts as the observer for
+     * every client, recording when each client's marked last update is first broadcast; observing from
+     * one session avoids counting the same update once per subscriber.
+     */
+    private static final class PresenceHandler implements StompFrameHandler {
+
+        private final boolean observer;
+        private final AtomicLong framesReceived;
+        private final long[] seenAt;
+        private final CountDownLatch allSeen;
+
+        private PresenceHandler(boolean observer, AtomicLong framesReceived, long[] seenAt, CountDownLatch allSeen) {
+            this.observer = observer;
+            this.framesReceived = framesReceived;
+            this.seenAt = seenAt;
+            this.allSeen = allSeen;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void handleFrame(StompHeaders headers, Object payload) {
+            framesReceived.incrementAndGet();
+            if (!observer || !(((Map<String, Object>) payload).get("presence") instanceof List<?> states)) {
+                return;
+            }
+            long now = System.nanoTime();
+            for (Object item : states) {
+                Map<String, Object> state = (Map<String, Object>) item;
+                if (state.get("userName") instanceof String name && name.startsWith(USER_PREFIX)
+                        && DONE_COLOR.equals(state.get("color"))) {
+                    int client = Integer.parseInt(name.substring(USER_PREFIX.length()));
+                    if (seenAt[client] == 0) {
+                        seenAt[client] = now;
+                        allSeen.countDown();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mindmesh.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class CompactEncodingInterceptorTest {
+
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private CompactEncodingInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new CompactEncodingInterceptor();
+    }
+
+    @Test
+    void movesCompactSubscriptionToCompactDestination() {
+        Message<?> result = interceptor.preSend(subscribe("s1", "sub-1", "/topic/nodes", true), channel);
+
+        assertEquals("/topic/nodes.compact", StompHeaderAccessor.wrap(result).getDestination());
+        assertEquals("sub-1", StompHeaderAccessor.wrap(result).getSubscriptionId());
+        assertTrue(interceptor.hasCompactSubscribers("/topic/nodes"));
+    }
+
+    @Test
+    void ignoresHeaderOnDestinationsWithoutCompactVariant() {
+        Message<?> result = interceptor.preSend(subscribe("s1", "sub-1", "/topic/presence", true), channel);
+
+        assertEquals("/topic/presence", StompHeaderAccessor.wrap(result).getDestination());
+        assertFalse(interceptor.hasCompactSubscribers("/topic/presence"));
+    }
+
+    @Test
+    void leavesPlainSubscriptionsUntouched() {
+        Message<?> result = interceptor.preSend(subscribe("s1", "sub-1", "/topic/nodes", false), channel);
+
+        assertEquals("/topic/nodes", StompHeaderAccessor.wrap(result).getDestination());
+        assertFalse(interceptor.hasCompactSubscribers("/topic/nodes"));
+    }
+
+    @Test
+    void countsSubscriptionsUntilUnsubscribed() {
+        interceptor.preSend(subscribe("s1", "sub-1", "/topic/nodes", true), channel);
+        interceptor.preSend(subscribe("s2", "sub-1", "/topic/nodes", true), channel);
+
+        interceptor.preSend(unsubscribe("s1", "sub-1"), channel);
+        assertTrue(interceptor.hasCompactSubscribers("/topic/nodes"));
+
+        // Unknown and repeated unsubscribes must not drop other sessions' subscriptions
+        interceptor.preSend(unsubscribe("s1", "sub-1"), channel);
+        interceptor.preSend(unsubscribe("s2", "sub-9"), channel);
+        assertTrue(interceptor.hasCompactSubscribers("/topic/nodes"));
+
+        interceptor.preSend(unsubscribe("s2", "sub-1"), channel);
+        assertFalse(interceptor.hasCompactSubscribers("/topic/nodes"));
+    }
+
+    @Test
+    void dropsSubscriptionsOfDisconnectedSession() {
+        interceptor.preSend(subscribe("s1", "sub-1", "/topic/nodes", true), channel);
+        interceptor.preSend(subscribe("s1", "sub-2", "/topic/graph", true), channel);
+        interceptor.preSend(subscribe("s2", "sub-1", "/topic/graph", true), channel);
+
+        interceptor.onSessionDisconnect(new SessionDisconnectEvent(
+                this, MessageBuilder.withPayload(new byte[0]).build(), "s1", CloseStatus.NORMAL));
+
+        assertFalse(interceptor.hasCompactSubscribers("/topic/nodes"));
+        assertTrue(interceptor.hasCompactSubscribers("/topic/graph"));
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination, boolean compact) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        if (compact) {
+            accessor.setNativeHeader(CompactEncodingInterceptor.ENCODING_HEADER, "compact");
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
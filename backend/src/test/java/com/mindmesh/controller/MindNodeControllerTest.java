@@ -0,0 +1,33 @@
+package com.mindmesh.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MindNodeControllerTest {
+
+    @Test
+    void acceptsGzipWhenListed() {
+        assertTrue(MindNodeController.acceptsGzip("gzip"));
+        assertTrue(MindNodeController.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        assertTrue(MindNodeController.acceptsGzip("x-gzip"));
+        assertTrue(MindNodeController.acceptsGzip("br, *"));
+    }
+
+    @Test
+    void refusesGzipWithZeroQuality() {
+        assertFalse(MindNodeController.acceptsGzip("gzip;q=0"));
+        assertFalse(MindNodeController.acceptsGzip("gzip; q=0.000, *"));
+        assertFalse(MindNodeController.acceptsGzip("*;q=0"));
+        assertFalse(MindNodeController.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void refusesGzipWhenAbsent() {
+        assertFalse(MindNodeController.acceptsGzip(null));
+        assertFalse(MindNodeController.acceptsGzip(""));
+        assertFalse(MindNodeController.acceptsGzip("identity, br"));
+        assertFalse(MindNodeController.acceptsGzip("gzipx"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.mindmesh.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindmesh.config.CompactEncodingInterceptor;
+import com.mindmesh.service.MindNodeService;
+import com.mindmesh.service.NodeSnapshotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs two application contexts connected through an {@link InProcessEventHub}, with the real
+ * transactional listeners of each instance, to check that a change committed on one instance
+ * invalidates the derived state of the other.
+ */
+class ChangeEventBusContextTest {
+
+    private InProcessEventHub hub;
+    private AnnotationConfigApplicationContext instanceA;
+    private AnnotationConfigApplicationContext instanceB;
+
+    @BeforeEach
+    void setUp() {
+        hub = new InProcessEventHub();
+        instanceA = startInstance();
+        instanceB = startInstance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        instanceA.close();
+        instanceB.close();
+        hub.shutdown();
+    }
+
+    @Test
+    void committedChangeInvalidatesPeerSnapshot() {
+        NodeSnapshotService snapshotA = instanceA.getBean(NodeSnapshotService.class);
+        NodeSnapshotService snapshotB = instanceB.getBean(NodeSnapshotService.class);
+        assertEquals(0L, snapshotA.getSnapshot().version());
+        assertEquals(0L, snapshotB.getSnapshot().version());
+
+        new TransactionTemplate(instanceA.getBean(PlatformTransactionManager.class)).executeWithoutResult(
+                status -> instanceA.getBean(ChangeEventBus.class).publish("/topic/nodes", "node-1"));
+        hub.awaitDelivery(5, TimeUnit.SECONDS);
+
+        assertEquals(1L, snapshotA.getSnapshot().version());
+        assertEquals(1L, snapshotB.getSnapshot().version());
+        // The peer handled the event on its own thread, not inside the publisher's commit callbacks
+        assertEquals(List.of(false), instanceB.getBean(RemoteEventRecorder.class).synchronizationActive);
+    }
+
+    private AnnotationConfigApplicationContext startInstance() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(EventTransport.class, hub::createTransport);
+        context.register(InstanceConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({ChangeEventBus.class, NodeSnapshotService.class})
+    static class InstanceConfig {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoOpTransactionManager();
+        }
+
+        @Bean
+        SimpMessagingTemplate messagingTemplate() {
+            return mock(SimpMessagingTemplate.class);
+        }
+
+        @Bean
+        CompactEncodingInterceptor compactEncodingInterceptor() {
+            return new CompactEncodingInterceptor();
+        }
+
+        @Bean
+        MindNodeService mindNodeService() {
+            MindNodeService mindNodeService = mock(MindNodeService.class);
+            when(mindNodeService.getAllNodes()).thenReturn(List.of());
+            return mindNodeService;
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        RemoteEventRecorder remoteEventRecorder() {
+            return new RemoteEventRecorder();
+        }
+    }
+
+    /**
+     * Records whether a transaction synchronization was active when each remote event was announced.
+     */
+    static class RemoteEventRecorder {
+
+        private final List<Boolean> synchronizationActive = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onGraphChanged(GraphChangedEvent event) {
+            if (event.isRemote()) {
+                synchronizationActive.add(TransactionSynchronizationManager.isSynchronizationActive());
+            }
+        }
+    }
+
+    /**
+     * Transaction manager without a resource, running only the synchronization callbacks.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
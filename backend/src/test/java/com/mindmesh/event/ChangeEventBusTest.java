@@ -0,0 +1,203 @@
+package com.mindmesh.event;
+
+import com.mindmesh.config.CompactEncodingInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs two buses connected through an {@link InProcessEventHub}, as two backend instances would be.
+ */
+class ChangeEventBusTest {
+
+    private static final long GAP_TIMEOUT_MS = 2000;
+
+    private InProcessEventHub hub;
+    private SimpMessagingTemplate templateA;
+    private SimpMessagingTemplate templateB;
+    private ApplicationEventPublisher publisherB;
+    private ChangeEventBus busA;
+    private ChangeEventBus busB;
+    private EventTransport peer;
+
+    @BeforeEach
+    void setUp() {
+        hub = new InProcessEventHub();
+        templateA = mock(SimpMessagingTemplate.class);
+        templateB = mock(SimpMessagingTemplate.class);
+        publisherB = mock(ApplicationEventPublisher.class);
+        busA = createBus(templateA, mock(ApplicationEventPublisher.class));
+        busB = createBus(templateB, publisherB);
+        // A third instance without a bus, used to inject events exactly as the transport delivers them
+        peer = hub.createTransport();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deliversToLocalAndPeerSessions() {
+        busA.publish("/topic/nodes", "node-1");
+        awaitDelivery();
+
+        verify(templateA).convertAndSend("/topic/nodes", (Object) "node-1");
+        verify(templateB).convertAndSend("/topic/nodes", (Object) "node-1");
+    }
+
+    @Test
+    void relaysToPeersOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        busA.publish("/topic/nodes", "node-1");
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        awaitDelivery();
+
+        verify(templateB, never()).convertAndSend(anyString(), any(Object.class));
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        awaitDelivery();
+
+        verify(templateB).convertAndSend("/topic/nodes", (Object) "node-1");
+    }
+
+    @Test
+    void relaysGraphDeltaWithEvent() {
+        GraphDelta delta = GraphDelta.connectionCreated(1L, 2L);
+        busA.publish("/topic/graph", List.of(), null, delta);
+        awaitDelivery();
+
+        verify(publisherB).publishEvent(new GraphChangedEvent(true, "/topic/graph", List.of(), delta));
+    }
+
+    @Test
+    void neverRelaysRolledBackChanges() {
+        TransactionSynchronizationManager.initSynchronization();
+        busA.publish("/topic/nodes", "rolled-back");
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        busA.publish("/topic/nodes", Map.of("deleted", "7"));
+        awaitDelivery();
+
+        // The rolled-back change took no sequence number, so the next one is delivered at once
+        verify(templateB, never()).convertAndSend("/topic/nodes", (Object) "rolled-back");
+        verify(templateB).convertAndSend("/topic/nodes", (Object) Map.of("deleted", "7"));
+    }
+
+    @Test
+    void dropsDuplicateEvents() {
+        peer.publish(event(1, "a"));
+        peer.publish(event(2, "b"));
+        peer.publish(event(1, "a"));
+        peer.publish(event(2, "b"));
+        awaitDelivery();
+
+        verify(templateB, times(1)).convertAndSend("/topic/nodes", (Object) "a");
+        verify(templateB, times(1)).convertAndSend("/topic/nodes", (Object) "b");
+    }
+
+    @Test
+    void deliversOutOfOrderEventsInSequence() {
+        peer.publish(event(1, "a"));
+        peer.publish(event(3, "c"));
+        peer.publish(event(4, "d"));
+        awaitDelivery();
+
+        verify(templateB, never()).convertAndSend("/topic/nodes", (Object) "c");
+
+        peer.publish(event(2, "b"));
+        awaitDelivery();
+
+        InOrder order = inOrder(templateB);
+        for (String payload : List.of("a", "b", "c", "d")) {
+            order.verify(templateB).convertAndSend("/topic/nodes", (Object) payload);
+        }
+    }
+
+    @Test
+    void skipsLostEventAfterGapTimeout() {
+        peer.publish(event(1, "a"));
+        peer.publish(event(3, "c"));
+        awaitDelivery();
+        long gapOpened = System.currentTimeMillis();
+
+        busB.expireGaps(gapOpened + GAP_TIMEOUT_MS / 2);
+        verify(templateB, never()).convertAndSend("/topic/nodes", (Object) "c");
+
+        busB.expireGaps(gapOpened + GAP_TIMEOUT_MS + 1000);
+        verify(templateB).convertAndSend("/topic/nodes", (Object) "c");
+
+        // The late event is now older than the last delivered one and is dropped
+        peer.publish(event(2, "b"));
+        peer.publish(event(4, "d"));
+        awaitDelivery();
+        verify(templateB, never()).convertAndSend("/topic/nodes", (Object) "b");
+        verify(templateB).convertAndSend("/topic/nodes", (Object) "d");
+    }
+
+    @Test
+    void deliversBufferedEventsWhenGapIsFilledBeforeTimeout() {
+        peer.publish(event(1, "a"));
+        peer.publish(event(3, "c"));
+        peer.publish(event(2, "b"));
+        awaitDelivery();
+
+        busB.expireGaps(System.currentTimeMillis() + GAP_TIMEOUT_MS + 1000);
+        peer.publish(event(4, "d"));
+        awaitDelivery();
+
+        InOrder order = inOrder(templateB);
+        for (String payload : List.of("a", "b", "c", "d")) {
+            order.verify(templateB).convertAndSend("/topic/nodes", (Object) payload);
+        }
+    }
+
+    @Test
+    void tracksOriginsIndependently() {
+        peer.publish(event(1, "a"));
+        peer.publish(event(3, "c"));
+        busA.publish("/topic/nodes", "from-a");
+        awaitDelivery();
+
+        verify(templateB).convertAndSend("/topic/nodes", (Object) "from-a");
+        verify(templateB, never()).convertAndSend("/topic/nodes", (Object) "c");
+    }
+
+    private void awaitDelivery() {
+        hub.awaitDelivery(5, TimeUnit.SECONDS);
+    }
+
+    private static ChangeEvent event(long sequence, String payload) {
+        return new ChangeEvent("peer", sequence, "/topic/nodes", payload, null, null);
+    }
+
+    private ChangeEventBus createBus(SimpMessagingTemplate template, ApplicationEventPublisher publisher) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("transport", hub.createTransport()));
+        return new ChangeEventBus(template, beans.getBeanProvider(EventTransport.class),
+                publisher, new CompactEncodingInterceptor(), GAP_TIMEOUT_MS);
+    }
+}
@@ -0,0 +1,149 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodeStatsDto;
+import com.mindmesh.event.GraphChangedEvent;
+import com.mindmesh.event.GraphDelta;
+import com.mindmesh.model.NodeType;
+import com.mindmesh.repository.MindNodeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GraphStatsServiceTest {
+
+    private MindNodeRepository repository;
+    private GraphStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MindNodeRepository.class);
+        statsService = new GraphStatsService(repository);
+        when(repository.countByType(anyString())).thenReturn(0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void appliesCommittedMutationsAfterLoading() {
+        when(repository.countByType("IDEA")).thenReturn(3L);
+        when(repository.countConnections()).thenReturn(2L);
+        statsService.getStats();
+
+        commit(() -> statsService.record(GraphDelta.nodeCreated(NodeType.IDEA)));
+        commit(() -> statsService.record(GraphDelta.connectionCreated(1L, 2L)));
+
+        NodeStatsDto stats = statsService.getStats();
+        assertEquals(4L, stats.getCountsByType().get(NodeType.IDEA));
+        assertEquals(4L, stats.getTotalNodes());
+        assertEquals(3L, stats.getTotalConnections());
+    }
+
+    @Test
+    void ignoresRolledBackMutations() {
+        statsService.getStats();
+
+        TransactionSynchronizationManager.initSynchronization();
+        statsService.record(GraphDelta.nodeCreated(NodeType.TASK));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0L, statsService.getStats().getCountsByType().get(NodeType.TASK));
+    }
+
+    @Test
+    void reloadsWhenMutationCommitsDuringLoad() {
+        // The first load sees the graph before a node is created; the node commits before the load
+        // finishes, so its increment is dropped and the counts must be queried again.
+        when(repository.countByType("IDEA")).thenReturn(1L, 2L);
+        AtomicInteger loads = new AtomicInteger();
+        when(repository.countConnections()).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                commit(() -> statsService.record(GraphDelta.nodeCreated(NodeType.IDEA)));
+            }
+            return 0L;
+        });
+
+        NodeStatsDto stats = statsService.getStats();
+
+        assertEquals(2L, stats.getCountsByType().get(NodeType.IDEA));
+        assertEquals(2L, stats.getTotalNodes());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void appliesRemoteDeltas() {
+        when(repository.countByType("NOTE")).thenReturn(1L);
+        when(repository.countConnections()).thenReturn(1L);
+        assertEquals(1L, statsService.getStats().getCountsByType().get(NodeType.NOTE));
+
+        // A peer instance created a node, changed a type and deleted a connected node
+        statsService.onGraphChanged(new GraphChangedEvent(true, "/topic/nodes", new MindNodeDto(),
+                GraphDelta.nodeCreated(NodeType.NOTE)));
+        statsService.onGraphChanged(new GraphChangedEvent(true, "/topic/nodes", new MindNodeDto(),
+                GraphDelta.nodeTypeChanged(NodeType.NOTE, NodeType.TASK)));
+        statsService.onGraphChanged(new GraphChangedEvent(true, "/topic/nodes", Map.of("deleted", "7"),
+                GraphDelta.nodeDeleted(NodeType.NOTE, 1)));
+
+        NodeStatsDto stats = statsService.getStats();
+        assertEquals(0L, stats.getCountsByType().get(NodeType.NOTE));
+        assertEquals(1L, stats.getCountsByType().get(NodeType.TASK));
+        assertEquals(0L, stats.getTotalConnections());
+        verify(repository, times(1)).countConnections();
+    }
+
+    @Test
+    void ignoresRemoteChangesWithoutDelta() {
+        statsService.getStats();
+
+        // Sustained drag traffic from a peer must not trigger reloads
+        for (int i = 0; i < 100; i++) {
+            statsService.onGraphChanged(new GraphChangedEvent(true, "/topic/nodes", new MindNodeDto()));
+            statsService.getStats();
+        }
+
+        verify(repository, times(1)).countConnections();
+    }
+
+    @Test
+    void keepsCountsOnLocalChange() {
+        statsService.getStats();
+
+        statsService.onGraphChanged(new GraphChangedEvent(false, "/topic/nodes", new MindNodeDto()));
+        statsService.getStats();
+
+        verify(repository, times(1)).countConnections();
+    }
+
+    /**
+     * Runs a mutation inside a simulated transaction and completes it with a commit.
+     */
+    private static void commit(Runnable mutation) {
+        TransactionSynchronizationManager.initSynchronization();
+        mutation.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,102 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.event.GraphChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HybridLogicalClockTest {
+
+    private static final int LOGICAL_BITS = 16;
+
+    private final HybridLogicalClock clock = new HybridLogicalClock();
+
+    @Test
+    void issuesStrictlyIncreasingTimestamps() {
+        long previous = clock.now();
+        for (int i = 0; i < 100_000; i++) {
+            long next = clock.now();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void tracksWallClock() {
+        long before = System.currentTimeMillis();
+        long physical = clock.now() >>> LOGICAL_BITS;
+        assertTrue(physical >= before && physical <= System.currentTimeMillis());
+    }
+
+    @Test
+    void updateReturnsTimestampNewerThanRemoteAndLocal() {
+        long local = clock.now();
+        long remote = local + (5_000L << LOGICAL_BITS);
+
+        long merged = clock.update(remote);
+
+        assertTrue(merged > remote);
+        assertTrue(clock.now() > merged);
+    }
+
+    @Test
+    void updateAcceptsLaggingRemote() {
+        long local = clock.now();
+        long merged = clock.update(local - (10_000L << LOGICAL_BITS));
+
+        assertTrue(merged > local);
+    }
+
+    @Test
+    void updateRejectsInvalidTimestamps() {
+        long tooFar = (System.currentTimeMillis() + 120_000L) << LOGICAL_BITS;
+
+        assertThrows(IllegalArgumentException.class, () -> clock.update(-1));
+        assertThrows(IllegalArgumentException.class, () -> clock.update(tooFar));
+    }
+
+    @Test
+    void observeMovesClockPastStoredVersion() {
+        // Versions written by a node whose clock ran ahead are absorbed without a drift check
+        long stored = (System.currentTimeMillis() + 3_600_000L) << LOGICAL_BITS;
+
+        clock.observe(stored);
+
+        assertTrue(clock.now() > stored);
+    }
+
+    @Test
+    void absorbsVersionsOfRemoteChanges() {
+        long remoteVersion = (System.currentTimeMillis() + 10_000L) << LOGICAL_BITS;
+        MindNodeDto dto = new MindNodeDto();
+        dto.setVersions(Map.of("title", remoteVersion));
+
+        clock.onGraphChanged(new GraphChangedEvent(true, "/topic/nodes", dto));
+
+        assertTrue(clock.now() > remoteVersion);
+    }
+
+    @Test
+    void absorbsVersionsOfDeserializedRemoteChanges() {
+        long remoteVersion = (System.currentTimeMillis() + 10_000L) << LOGICAL_BITS;
+
+        clock.onGraphChanged(new GraphChangedEvent(true, "/topic/nodes", Map.of("versions", Map.of("color", remoteVersion))));
+
+        assertTrue(clock.now() > remoteVersion);
+    }
+
+    @Test
+    void ignoresLocalChanges() {
+        long localVersion = (System.currentTimeMillis() + 10_000L) << LOGICAL_BITS;
+        MindNodeDto dto = new MindNodeDto();
+        dto.setVersions(Map.of("title", localVersion));
+
+        clock.onGraphChanged(new GraphChangedEvent(false, "/topic/nodes", dto));
+
+        assertTrue(clock.now() < localVersion);
+    }
+}
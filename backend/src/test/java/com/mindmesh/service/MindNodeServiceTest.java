@@ -0,0 +1,243 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodePageDto;
+import com.mindmesh.event.ChangeEventBus;
+import com.mindmesh.model.MindNode;
+import com.mindmesh.model.NodeType;
+import com.mindmesh.repository.MindNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MindNodeServiceTest {
+
+    private static final int LOGICAL_BITS = 16;
+    private static final Long NODE_ID = 42L;
+
+    private MindNodeRepository repository;
+    private ChangeEventBus changeEventBus;
+    private HybridLogicalClock clock;
+    private MindNodeService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MindNodeRepository.class);
+        changeEventBus = mock(ChangeEventBus.class);
+        clock = new HybridLogicalClock();
+        service = new MindNodeService(repository, changeEventBus, mock(GraphStatsService.class), clock);
+    }
+
+    @Test
+    void stampsServerWritesAfterStoredVersions() {
+        // The node was last written by an instance whose clock runs an hour ahead of ours
+        long stored = (System.currentTimeMillis() + 3_600_000L) << LOGICAL_BITS;
+        MindNode node = storeNode(stored);
+
+        MindNodeDto result = service.patchNode(NODE_ID.toString(), Map.of("title", "Renamed")).orElseThrow();
+
+        assertEquals("Renamed", result.getTitle());
+        assertTrue(node.getTitleVersion() > stored);
+        verify(changeEventBus).publish(eq("/topic/nodes"), any(MindNodeDto.class), isNull(), isNull());
+    }
+
+    @Test
+    void writesClientVersionOfNewerEdit() {
+        long stored = clock.now();
+        long clientVersion = stored + (5_000L << LOGICAL_BITS);
+        MindNode node = storeNode(stored);
+
+        service.patchNode(NODE_ID.toString(), Map.of("color", "#123456", "versions", Map.of("color", clientVersion)));
+
+        assertEquals("#123456", node.getColor());
+        assertEquals(clientVersion, node.getColorVersion());
+    }
+
+    @Test
+    void patchWithOlderClientVersionLoses() {
+        long clientVersion = clock.now();
+        long stored = clientVersion + (5_000L << LOGICAL_BITS);
+        MindNode node = storeNode(stored);
+
+        MindNodeDto result = service.patchNode(NODE_ID.toString(),
+                Map.of("title", "Late title", "versions", Map.of("title", clientVersion))).orElseThrow();
+
+        assertEquals("Original", result.getTitle());
+        assertEquals(stored, result.getVersions().get("title"));
+        assertEquals(stored, node.getTitleVersion());
+        verify(changeEventBus, never()).publish(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void rejectsClientVersionTooFarAhead() {
+        storeNode(clock.now());
+        long clientVersion = (System.currentTimeMillis() + 3_600_000L) << LOGICAL_BITS;
+
+        assertThrows(IllegalArgumentException.class, () -> service.patchNode(NODE_ID.toString(),
+                Map.of("title", "Future", "versions", Map.of("title", clientVersion))));
+    }
+
+    @Test
+    void ignoresStaleWrite() {
+        // A concurrent write stores a newer version of the title between our read and the merge
+        long newer = (System.currentTimeMillis() + 3_600_000L) << LOGICAL_BITS;
+        MindNode node = storeNode(0L);
+        when(repository.mergeNodeFields(eq(NODE_ID), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    node.setTitle("Concurrent title");
+                    node.setTitleVersion(newer);
+                    return merge(node, invocation.getArguments());
+                });
+
+        MindNodeDto result = service.patchNode(NODE_ID.toString(), Map.of("title", "Late title")).orElseThrow();
+
+        assertEquals("Concurrent title", result.getTitle());
+        assertEquals(newer, result.getVersions().get("title"));
+        verify(changeEventBus, never()).publish(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void putStampsOnlyChangedFields() {
+        long stored = clock.now();
+        MindNode node = storeNode(stored);
+        MindNodeDto dto = MindNodeService.toDto(node);
+        dto.setTitle("Renamed");
+        dto.setVersions(null);
+
+        service.updateNode(NODE_ID.toString(), dto);
+
+        assertEquals("Renamed", node.getTitle());
+        assertTrue(node.getTitleVersion() > stored);
+        assertEquals(stored, node.getDescriptionVersion());
+        assertEquals(stored, node.getPositionVersion());
+        assertEquals(stored, node.getColorVersion());
+        assertEquals(stored, node.getTypeVersion());
+        verify(repository).mergeNodeFields(eq(NODE_ID), eq("Renamed"), any(), any(), isNull(), any(), any(), isNull(),
+                any(), isNull(), any(), isNull());
+    }
+
+    @Test
+    void putEditingAnOutdatedFieldLoses() {
+        long base = clock.now();
+        long stored = base + (5_000L << LOGICAL_BITS);
+        MindNode node = storeNode(stored);
+        MindNodeDto dto = MindNodeService.toDto(node);
+        dto.setTitle("Edited from an old copy");
+        dto.setVersions(Map.of("title", base));
+
+        MindNodeDto result = service.updateNode(NODE_ID.toString(), dto).orElseThrow();
+
+        assertEquals("Original", result.getTitle());
+        assertEquals(stored, node.getTitleVersion());
+        verify(changeEventBus, never()).publish(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void returnsEmptyForMissingNode() {
+        when(repository.findById(NODE_ID)).thenReturn(Optional.empty());
+
+        assertTrue(service.updateNode(NODE_ID.toString(), new MindNodeDto()).isEmpty());
+        assertTrue(service.patchNode(NODE_ID.toString(), Map.of("title", "x")).isEmpty());
+    }
+
+    @Test
+    void pagesByCreationKeyAndId() {
+        MindNode first = node(null);
+        first.setId(7L);
+        first.setCreationKey(100L);
+        MindNode second = node(null);
+        second.setId(3L);
+        second.setCreationKey(200L);
+        when(repository.findPageByType("IDEA", Long.MIN_VALUE, Long.MIN_VALUE, 2)).thenReturn(List.of(first, second));
+        when(repository.findPageByType("IDEA", 200L, 3L, 2)).thenReturn(List.of(first));
+
+        NodePageDto page = service.getNodesByType(NodeType.IDEA, null, 2);
+        NodePageDto last = service.getNodesByType(NodeType.IDEA, page.getNextCursor(), 2);
+
+        assertEquals("200:3", page.getNextCursor());
+        assertEquals(2, page.getItems().size());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> service.getNodesByType(NodeType.IDEA, "42", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getNodesByType(NodeType.IDEA, "a:b", 10));
+    }
+
+    /**
+     * Stores a node with every field at the given version in an in-memory repository whose
+     * {@code mergeNodeFields} applies the same per-field rule as the Cypher statement.
+     */
+    private MindNode storeNode(long version) {
+        MindNode node = node(version);
+        node.setDescription("Notes");
+        node.setX(1.0);
+        node.setY(2.0);
+        node.setColor("#FFFFFF");
+        node.setDescriptionVersion(version);
+        node.setPositionVersion(version);
+        node.setColorVersion(version);
+        node.setTypeVersion(version);
+        node.setTitle("Original");
+        when(repository.findById(NODE_ID)).thenReturn(Optional.of(node));
+        when(repository.mergeNodeFields(eq(NODE_ID), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> merge(node, invocation.getArguments()));
+        return node;
+    }
+
+    private static String merge(MindNode node, Object[] args) {
+        String previousType = node.getType().name();
+        if (wins((Long) args[2], node.getTitleVersion())) {
+            node.setTitle(args[1] != null ? (String) args[1] : node.getTitle());
+            node.setTitleVersion((Long) args[2]);
+        }
+        if (wins((Long) args[4], node.getDescriptionVersion())) {
+            node.setDescription((String) args[3]);
+            node.setDescriptionVersion((Long) args[4]);
+        }
+        if (wins((Long) args[7], node.getPositionVersion())) {
+            node.setX(args[5] != null ? (Double) args[5] : node.getX());
+            node.setY(args[6] != null ? (Double) args[6] : node.getY());
+            node.setPositionVersion((Long) args[7]);
+        }
+        if (wins((Long) args[9], node.getColorVersion())) {
+            node.setColor((String) args[8]);
+            node.setColorVersion((Long) args[9]);
+        }
+        if (wins((Long) args[11], node.getTypeVersion())) {
+            node.setType(args[10] != null ? NodeType.valueOf((String) args[10]) : node.getType());
+            node.setTypeVersion((Long) args[11]);
+        }
+        return previousType;
+    }
+
+    private static boolean wins(Long version, Long stored) {
+        return version != null && version > (stored != null ? stored : 0L);
+    }
+
+    private static MindNode node(Long titleVersion) {
+        MindNode node = new MindNode();
+        node.setId(NODE_ID);
+        node.setTitle("Renamed");
+        node.setType(NodeType.IDEA);
+        node.setTitleVersion(titleVersion);
+        return node;
+    }
+}
@@ -0,0 +1,164 @@
+package com.mindmesh.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindmesh.dto.ClusterEdgeDto;
+import com.mindmesh.dto.ClusterViewDto;
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.dto.NodeClusterDto;
+import com.mindmesh.event.GraphChangedEvent;
+import com.mindmesh.event.GraphDelta;
+import com.mindmesh.model.NodeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NodeClusterServiceTest {
+
+    /**
+     * Box covering both test cells at zoom 1, where cells are 64 units wide.
+     */
+    private static final String VIEW = "0,0,2000,2000";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MindNodeService mindNodeService;
+    private NodeClusterService clusterService;
+
+    @BeforeEach
+    void setUp() {
+        mindNodeService = mock(MindNodeService.class);
+        clusterService = new NodeClusterService(mindNodeService, objectMapper);
+    }
+
+    @Test
+    void rejectsBoundingBoxWhoseCellSpanOverflows() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(IllegalArgumentException.class,
+                    () -> clusterService.getClusters("-1e300,-1e300,1e300,1e300", 1.0));
+        });
+    }
+
+    @Test
+    void rejectsBoundingBoxTooWideOnOneAxis() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> clusterService.getClusters("0,0,1e9,10", 1.0));
+    }
+
+    @Test
+    void groupsNodesOfTheSameCell() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of(
+                node(1L, 10, 10, NodeType.IDEA),
+                node(2L, 20, 20, NodeType.IDEA),
+                node(3L, 1000, 1000, NodeType.TASK)));
+
+        ClusterViewDto view = clusterService.getClusters("0,0,2000,2000", 1.0);
+
+        assertEquals(2, view.getClusters().size());
+        assertEquals(3, view.getClusters().stream().mapToInt(NodeClusterDto::getCount).sum());
+    }
+
+    @Test
+    void movesNodeOnUpsert() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of(node(1L, 10, 10, NodeType.IDEA)));
+        clusterService.getClusters(VIEW, 1.0);
+
+        MindNodeDto moved = node(1L, 1000, 1000, NodeType.IDEA);
+        moved.setVersions(Map.of("position", 5L));
+        change(moved, null);
+
+        ClusterViewDto view = clusterService.getClusters(VIEW, 1.0);
+        assertEquals(1, view.getClusters().size());
+        assertEquals(1000.0, view.getClusters().get(0).getX());
+        verify(mindNodeService, times(1)).getAllNodes();
+    }
+
+    @Test
+    void deletesNodeWithIncomingConnections() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of(
+                node(1L, 10, 10, NodeType.IDEA, 3L),
+                node(2L, 20, 20, NodeType.IDEA, 3L),
+                node(3L, 1000, 1000, NodeType.TASK)));
+        assertEquals(1, clusterService.getClusters(VIEW, 1.0).getEdges().size());
+
+        change(Map.of("deleted", "3"), GraphDelta.nodeDeleted(NodeType.TASK, 2));
+
+        ClusterViewDto view = clusterService.getClusters(VIEW, 1.0);
+        assertEquals(1, view.getClusters().size());
+        assertTrue(view.getEdges().isEmpty());
+
+        // A node reinserted with the deleted ID is not connected to the former sources
+        change(node(3L, 1000, 1000, NodeType.TASK), GraphDelta.nodeCreated(NodeType.TASK));
+        assertTrue(clusterService.getClusters(VIEW, 1.0).getEdges().isEmpty());
+    }
+
+    @Test
+    void countsConnectionsBetweenClusters() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of(
+                node(1L, 10, 10, NodeType.IDEA, 3L),
+                node(2L, 20, 20, NodeType.IDEA, 3L, 1L),
+                node(3L, 1000, 1000, NodeType.TASK)));
+
+        ClusterViewDto view = clusterService.getClusters(VIEW, 1.0);
+
+        // The connection inside the first cell is not an inter-cluster edge
+        assertEquals(1, view.getEdges().size());
+        assertEquals(2, view.getEdges().get(0).getCount());
+    }
+
+    @Test
+    void appliesConnectionDeltaWithoutReload() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of(
+                node(1L, 10, 10, NodeType.IDEA),
+                node(2L, 1000, 1000, NodeType.TASK)));
+        clusterService.getClusters(VIEW, 1.0);
+
+        List<MindNodeDto> graph = List.of(node(1L, 10, 10, NodeType.IDEA, 2L), node(2L, 1000, 1000, NodeType.TASK));
+        change("/topic/graph", graph, GraphDelta.connectionCreated(1L, 2L));
+        // Duplicate delivery must not count the connection twice
+        change("/topic/graph", graph, GraphDelta.connectionCreated(1L, 2L));
+
+        List<ClusterEdgeDto> edges = clusterService.getClusters(VIEW, 1.0).getEdges();
+        assertEquals(1, edges.size());
+        assertEquals(1, edges.get(0).getCount());
+        verify(mindNodeService, times(1)).getAllNodes();
+    }
+
+    @Test
+    void upsertsNodeReceivedAsMap() {
+        when(mindNodeService.getAllNodes()).thenReturn(List.of(node(1L, 10, 10, NodeType.IDEA)));
+        clusterService.getClusters(VIEW, 1.0);
+
+        MindNodeDto created = node(2L, 1000, 1000, NodeType.TASK);
+        change(objectMapper.convertValue(created, Map.class), GraphDelta.nodeCreated(NodeType.TASK));
+
+        assertEquals(2, clusterService.getClusters(VIEW, 1.0).getClusters().size());
+        verify(mindNodeService, times(1)).getAllNodes();
+    }
+
+    private void change(Object payload, GraphDelta delta) {
+        change("/topic/nodes", payload, delta);
+    }
+
+    private void change(String destination, Object payload, GraphDelta delta) {
+        clusterService.onGraphChanged(new GraphChangedEvent(true, destination, payload, delta));
+    }
+
+    private static MindNodeDto node(Long id, double x, double y, NodeType type, Long... connections) {
+        return new MindNodeDto(id, "Node " + id, null, x, y, null, type, null, null, List.of(connections), Map.of());
+    }
+}
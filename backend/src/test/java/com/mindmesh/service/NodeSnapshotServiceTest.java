@@ -0,0 +1,89 @@
+package com.mindmesh.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindmesh.dto.MindNodeDto;
+import com.mindmesh.event.GraphChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NodeSnapshotServiceTest {
+
+    private static final int READERS = 8;
+
+    private MindNodeService mindNodeService;
+    private NodeSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        mindNodeService = mock(MindNodeService.class);
+        snapshotService = new NodeSnapshotService(mindNodeService, new ObjectMapper());
+    }
+
+    @Test
+    void concurrentReadersShareOneBuild() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mindNodeService.getAllNodes()).thenAnswer(invocation -> {
+            building.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new MindNodeDto());
+        });
+
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        try {
+            List<Future<NodeSnapshotService.Snapshot>> results = new ArrayList<>();
+            for (int i = 0; i < READERS; i++) {
+                results.add(readers.submit(snapshotService::getSnapshot));
+            }
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            // Gives the other readers time to find the pending build and wait for it
+            Thread.sleep(200);
+            release.countDown();
+
+            NodeSnapshotService.Snapshot first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<NodeSnapshotService.Snapshot> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        verify(mindNodeService, times(1)).getAllNodes();
+    }
+
+    @Test
+    void invalidationDuringBuildForcesRebuild() {
+        AtomicInteger builds = new AtomicInteger();
+        when(mindNodeService.getAllNodes()).thenAnswer(invocation -> {
+            if (builds.incrementAndGet() == 1) {
+                // A change commits after the build read the graph version
+                snapshotService.onGraphChanged(new GraphChangedEvent(false, "/topic/nodes", new MindNodeDto()));
+            }
+            return List.of();
+        });
+
+        NodeSnapshotService.Snapshot stale = snapshotService.getSnapshot();
+        NodeSnapshotService.Snapshot rebuilt = snapshotService.getSnapshot();
+
+        assertEquals(0L, stale.version());
+        assertEquals(1L, rebuilt.version());
+        assertSame(rebuilt, snapshotService.getSnapshot());
+        verify(mindNodeService, times(2)).getAllNodes();
+    }
+}
@@ -0,0 +1,156 @@
+package com.mindmesh.service;
+
+import com.mindmesh.dto.PresenceDto;
+import com.mindmesh.dto.PresenceMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PresenceServiceTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private PresenceService presenceService;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        presenceService = new PresenceService(messagingTemplate);
+        connect("s1");
+    }
+
+    @Test
+    void conflatesUpdatesUntilFlush() {
+        presenceService.updatePresence("s1", new PresenceMessage("Ana", "#FF5733", 1.0, 2.0, null));
+        presenceService.updatePresence("s1", new PresenceMessage(null, null, 5.0, 6.0, null));
+
+        presenceService.flush();
+        presenceService.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/presence"), any(Object.class));
+        PresenceDto state = presenceService.getAllPresence().get(0);
+        assertEquals("Ana", state.getUserName());
+        assertEquals(5.0, state.getX());
+    }
+
+    @Test
+    void keepsIdentityOfIdleSessions() {
+        presenceService.updatePresence("s1", new PresenceMessage("Ana", "#FF5733", 1.0, 2.0, List.of(7L)));
+        presenceService.flush();
+
+        // Idle sessions are never expired by the flush, only by disconnect
+        for (int i = 0; i < 10; i++) {
+            presenceService.flush();
+        }
+        presenceService.updatePresence("s1", new PresenceMessage(null, null, 3.0, 4.0, null));
+
+        PresenceDto state = presenceService.getAllPresence().get(0);
+        assertEquals("Ana", state.getUserName());
+        assertEquals("#FF5733", state.getColor());
+        assertEquals(List.of(7L), state.getSelectedNodeIds());
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/presence"), eq(Map.of("left", "s1")));
+    }
+
+    @Test
+    void removesPresenceOnDisconnect() {
+        presenceService.updatePresence("s1", new PresenceMessage("Ana", "#FF5733", 1.0, 2.0, null));
+
+        disconnect("s1");
+
+        assertTrue(presenceService.getAllPresence().isEmpty());
+        verify(messagingTemplate).convertAndSend("/topic/presence", Map.of("left", "s1"));
+    }
+
+    @Test
+    void ignoresUpdatesAfterDisconnect() {
+        presenceService.updatePresence("s1", new PresenceMessage("Ana", "#FF5733", 1.0, 2.0, null));
+        disconnect("s1");
+
+        // Late update still queued in the inbound channel when the session closed
+        presenceService.updatePresence("s1", new PresenceMessage(null, null, 3.0, 4.0, null));
+        presenceService.flush();
+
+        assertTrue(presenceService.getAllPresence().isEmpty());
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/presence"), any(Object.class));
+        verify(messagingTemplate).convertAndSend("/topic/presence", Map.of("left", "s1"));
+    }
+
+    @Test
+    void sendsLeftAfterBatchCollectedBeforeDisconnect() throws Exception {
+        presenceService.updatePresence("s1", new PresenceMessage("Ana", "#FF5733", 1.0, 2.0, null));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> sent = new ArrayList<>();
+        doAnswer(invocation -> {
+            Object payload = invocation.getArgument(1);
+            if (payload instanceof Map<?, ?> map && map.containsKey("presence")) {
+                sending.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            synchronized (sent) {
+                sent.add(payload);
+            }
+            return null;
+        }).when(messagingTemplate).convertAndSend(eq("/topic/presence"), any(Object.class));
+
+        Thread flusher = new Thread(presenceService::flush);
+        flusher.start();
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        Thread disconnector = new Thread(() -> disconnect("s1"));
+        disconnector.start();
+        Thread.sleep(100);
+        release.countDown();
+        flusher.join(5000);
+        disconnector.join(5000);
+
+        assertEquals(2, sent.size());
+        assertTrue(((Map<?, ?>) sent.get(0)).containsKey("presence"));
+        assertEquals(Map.of("left", "s1"), sent.get(1));
+    }
+
+    @Test
+    void capsUntrustedFields() {
+        List<Long> selection = new ArrayList<>();
+        for (long id = 0; id < PresenceService.MAX_SELECTED_NODES * 10L; id++) {
+            selection.add(id);
+        }
+        presenceService.updatePresence("s1", new PresenceMessage("a".repeat(10_000), "c".repeat(10_000), 1.0, 2.0, selection));
+
+        PresenceDto state = presenceService.getAllPresence().get(0);
+        assertEquals(PresenceService.MAX_USER_NAME_LENGTH, state.getUserName().length());
+        assertEquals(PresenceService.MAX_COLOR_LENGTH, state.getColor().length());
+        assertEquals(PresenceService.MAX_SELECTED_NODES, state.getSelectedNodeIds().size());
+    }
+
+    private void connect(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(sessionId);
+        presenceService.onSessionConnect(new SessionConnectEvent(
+                this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private void disconnect(String sessionId) {
+        presenceService.onSessionDisconnect(new SessionDisconnectEvent(
+                this, MessageBuilder.withPayload(new byte[0]).build(), sessionId, CloseStatus.NORMAL));
+    }
+}